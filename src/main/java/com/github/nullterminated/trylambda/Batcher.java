@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gathers concurrent single key loads into batches for a function which loads
+ * many keys at once, such as a database query with an IN clause. A batch is
+ * dispatched when it holds maxBatch keys or when maxDelay has passed since the
+ * first key was queued, whichever comes first. Each key receives its own
+ * {@link Either}. Keys missing from the returned map or mapped to null are a
+ * left holding a {@link NoSuchElementException}. An exception thrown while
+ * reading a key from the map is the left of that key only. A failure of the
+ * batch function is the left of every key in the batch. Keys are queued on a
+ * lock free queue.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Ramsey Gurley
+ */
+public final class Batcher<K, V> {
+
+	private final CheckedFunction<List<K>, Map<K, V>> function;
+	private final int maxBatch;
+	private final Executor executor;
+	private final Executor delayed;
+	private final Queue<Load<K, V>> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+
+	private Batcher(final CheckedFunction<List<K>, Map<K, V>> function, final int maxBatch, final Duration maxDelay,
+			final Executor executor) {
+		if (maxBatch < 1) {
+			throw new IllegalArgumentException("maxBatch must be positive: " + maxBatch);
+		}
+		if (maxDelay.isNegative()) {
+			throw new IllegalArgumentException("maxDelay is negative");
+		}
+		this.function = Objects.requireNonNull(function);
+		this.maxBatch = maxBatch;
+		this.executor = Objects.requireNonNull(executor);
+		this.delayed = CompletableFuture.delayedExecutor(maxDelay.toNanos(), TimeUnit.NANOSECONDS, this::execute);
+	}
+
+	/**
+	 * Calls the four argument form of this method, dispatching batches on the
+	 * common fork join pool.
+	 *
+	 * @param <K>      the key type
+	 * @param <V>      the value type
+	 * @param function the batch function
+	 * @param maxBatch the largest number of keys in a batch
+	 * @param maxDelay the longest time a key waits for its batch to fill
+	 * @return a batcher
+	 */
+	public static <K, V> Batcher<K, V> of(final CheckedFunction<List<K>, Map<K, V>> function, final int maxBatch,
+			final Duration maxDelay) {
+		return of(function, maxBatch, maxDelay, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Create a batcher for the batch function. The function is called with the
+	 * distinct keys of a batch, in the order they were first loaded, and returns
+	 * a map of the values it found.
+	 *
+	 * @param <K>      the key type
+	 * @param <V>      the value type
+	 * @param function the batch function
+	 * @param maxBatch the largest number of keys in a batch
+	 * @param maxDelay the longest time a key waits for its batch to fill
+	 * @param executor the executor running the batch function
+	 * @return a batcher
+	 * @throws IllegalArgumentException if maxBatch is not positive or maxDelay is
+	 *                                  negative
+	 */
+	public static <K, V> Batcher<K, V> of(final CheckedFunction<List<K>, Map<K, V>> function, final int maxBatch,
+			final Duration maxDelay, final Executor executor) {
+		return new Batcher<>(function, maxBatch, maxDelay, executor);
+	}
+
+	/**
+	 * Queue a key for loading in the next batch.
+	 *
+	 * @param key the key
+	 * @return a future completed with either the failure or the value for the key
+	 */
+	public CompletableFuture<Either<Exception, V>> load(final K key) {
+		final Load<K, V> load = new Load<>(key);
+		queue.add(load);
+		loads.increment();
+		if (size.incrementAndGet() % maxBatch == 0) {
+			execute(this::dispatchOne);
+		} else if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+			delayed.execute(this::flush);
+		}
+		return load.future;
+	}
+
+	/**
+	 * Adapt this batcher to a per key function. The function blocks until the
+	 * batch holding its key is done, and throws the exception of a left result.
+	 *
+	 * @return a per key function
+	 */
+	public CheckedFunction<K, V> asFunction() {
+		return key -> {
+			final Either<Exception, V> result;
+			try {
+				result = load(key).get();
+			} catch (final ExecutionException e) {
+				throw (Error) e.getCause();
+			}
+			if (result.isLeft()) {
+				throw result.getLeft();
+			}
+			return result.getRight();
+		};
+	}
+
+	/**
+	 *
+	 * @return the number of keys loaded
+	 */
+	public long getLoads() {
+		return loads.sum();
+	}
+
+	/**
+	 *
+	 * @return the number of batches dispatched
+	 */
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "Batcher{" + "maxBatch=" + maxBatch + ", loads=" + getLoads() + ", batches=" + getBatches() + '}';
+	}
+
+	private void execute(final Runnable task) {
+		try {
+			executor.execute(task);
+		} catch (final RejectedExecutionException e) {
+			for (List<Load<K, V>> batch = drain(); !batch.isEmpty(); batch = drain()) {
+				batch.forEach(load -> load.future.complete(Either.left(e)));
+			}
+		}
+	}
+
+	private void flush() {
+		scheduled.set(false);
+		for (List<Load<K, V>> batch = drain(); !batch.isEmpty(); batch = drain()) {
+			dispatch(batch);
+		}
+	}
+
+	private void dispatchOne() {
+		final List<Load<K, V>> batch = drain();
+		if (!batch.isEmpty()) {
+			dispatch(batch);
+		}
+	}
+
+	private List<Load<K, V>> drain() {
+		final List<Load<K, V>> batch = new ArrayList<>();
+		for (Load<K, V> load; batch.size() < maxBatch && (load = queue.poll()) != null;) {
+			batch.add(load);
+		}
+		size.addAndGet(-batch.size());
+		return batch;
+	}
+
+	private void dispatch(final List<Load<K, V>> batch) {
+		batches.increment();
+		final Map<K, List<CompletableFuture<Either<Exception, V>>>> waiting = new LinkedHashMap<>();
+		batch.forEach(load -> waiting.computeIfAbsent(load.key, k -> new ArrayList<>()).add(load.future));
+		final List<K> keys = new ArrayList<>(waiting.keySet());
+		try {
+			final Either<Exception, Map<K, V>> result = Try
+					.either(() -> Objects.requireNonNull(function.applies(keys), "Batch function returned null."));
+			waiting.forEach((key, futures) -> {
+				final Either<Exception, V> either = result.isLeft() ? Either.left(result.getLeft())
+						: value(result.getRight(), key);
+				futures.forEach(future -> future.complete(either));
+			});
+		} catch (final Error e) {
+			batch.forEach(load -> load.future.completeExceptionally(e));
+			throw e;
+		}
+	}
+
+	private static <K, V> Either<Exception, V> value(final Map<K, V> values, final K key) {
+		Either<Exception, V> value;
+		try {
+			final V found = values.get(key);
+			value = found == null ? Either.left(new NoSuchElementException("No value for key: " + key))
+					: Either.right(found);
+		} catch (final RuntimeException e) {
+			value = Either.left(e);
+		}
+		return value;
+	}
+
+	private static final class Load<K, V> {
+
+		final K key;
+		final CompletableFuture<Either<Exception, V>> future = new CompletableFuture<>();
+
+		Load(final K key) {
+			this.key = key;
+		}
+	}
+}
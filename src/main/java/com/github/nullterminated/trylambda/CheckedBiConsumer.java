@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A two argument consumer interface that automatically wraps any exceptions.
+ *
+ * @param <T> the first type consumed
+ * @param <U> the second type consumed
+ * @author Ramsey Gurley
+ */
+@FunctionalInterface
+public interface CheckedBiConsumer<T, U> extends BiConsumer<T, U> {
+	@Override
+	default void accept(final T t, final U u) {
+		try {
+			accepts(t, u);
+		} catch (final Exception e) {
+			throw WrappedException.unchecked(e);
+		}
+	}
+
+	/**
+	 * Same as
+	 * {@link java.util.function.BiConsumer#accept(java.lang.Object, java.lang.Object)
+	 * accept} except Exceptions may be thrown.
+	 *
+	 * @param t the first accepted type
+	 * @param u the second accepted type
+	 * @throws Exception an exception
+	 */
+	void accepts(T t, U u) throws Exception;
+}
@@ -30,7 +30,7 @@ public interface CheckedConsumer<T> extends Consumer<T> {
 		try {
 			accepts(t);
 		} catch (final Exception e) {
-			throw WrappedException.wrap(e);
+			throw WrappedException.unchecked(e);
 		}
 	}
 
@@ -16,6 +16,10 @@
  */
 package com.github.nullterminated.trylambda;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -25,13 +29,13 @@ import java.util.function.Function;
  * @param <R> the function result type
  * @author Ramsey Gurley
  */
-public interface CheckedFunction<T, R> extends Function<T, R> {
+public interface CheckedFunction<T, R> extends Function<T, R>, ThrowingFunction<T, R, Exception> {
 	@Override
 	default R apply(final T arg) {
 		try {
 			return applies(arg);
 		} catch (final Exception e) {
-			throw WrappedException.wrap(e);
+			throw WrappedException.unchecked(e);
 		}
 	}
 
@@ -43,5 +47,123 @@ public interface CheckedFunction<T, R> extends Function<T, R> {
 	 * @return the function result
 	 * @throws Exception an exception
 	 */
+	@Override
 	R applies(T arg) throws Exception;
+
+	/**
+	 * Same as
+	 * {@link java.util.function.Function#andThen(java.util.function.Function)
+	 * andThen} except the composed function calls
+	 * {@link #applies(java.lang.Object) applies} on each stage, so exceptions are
+	 * only wrapped once at the outermost boundary.
+	 *
+	 * @param <V>   the result type of the after function
+	 * @param after the function to apply after this function
+	 * @return a composed checked function
+	 */
+	default <V> CheckedFunction<T, V> andThenChecked(final CheckedFunction<? super R, ? extends V> after) {
+		Objects.requireNonNull(after);
+		return arg -> after.applies(applies(arg));
+	}
+
+	/**
+	 * Same as
+	 * {@link java.util.function.Function#compose(java.util.function.Function)
+	 * compose} except the composed function calls
+	 * {@link #applies(java.lang.Object) applies} on each stage, so exceptions are
+	 * only wrapped once at the outermost boundary.
+	 *
+	 * @param <V>    the argument type of the before function
+	 * @param before the function to apply before this function
+	 * @return a composed checked function
+	 */
+	default <V> CheckedFunction<V, R> composeChecked(final CheckedFunction<? super V, ? extends T> before) {
+		Objects.requireNonNull(before);
+		return arg -> applies(before.applies(arg));
+	}
+
+	/**
+	 * Calls the two argument form of this method without waiting for permits.
+	 *
+	 * @param permitsPerSecond the maximum sustained call rate
+	 * @return a rate limited function
+	 */
+	default CheckedFunction<T, R> rateLimited(final double permitsPerSecond) {
+		return rateLimited(permitsPerSecond, Duration.ZERO);
+	}
+
+	/**
+	 * Limit the rate of calls to this function with a token bucket holding one
+	 * second of permits. When no permit is available within the maximum wait, the
+	 * returned function throws a {@link RejectedException} instead of blocking, so
+	 * {@link Try#either(CheckedSupplier) either} returns it as a left. A call
+	 * interrupted while waiting returns its permit to the bucket.
+	 *
+	 * @param permitsPerSecond the maximum sustained call rate
+	 * @param maxWait          the longest time a call may wait for a permit
+	 * @return a rate limited function
+	 * @throws IllegalArgumentException if the rate is not positive or the wait is
+	 *                                  negative
+	 */
+	default CheckedFunction<T, R> rateLimited(final double permitsPerSecond, final Duration maxWait) {
+		return new TokenBucket(permitsPerSecond).limit(this, requireNonNegative(maxWait));
+	}
+
+	/**
+	 * Calls the two argument form of this method without waiting for permits.
+	 *
+	 * @param maxConcurrent the maximum number of concurrent calls
+	 * @return a concurrency limited function
+	 */
+	default CheckedFunction<T, R> bulkhead(final int maxConcurrent) {
+		return bulkhead(maxConcurrent, Duration.ZERO);
+	}
+
+	/**
+	 * Limit the number of concurrent calls to this function. When no permit is
+	 * available within the maximum wait, the returned function throws a
+	 * {@link RejectedException} instead of blocking, so
+	 * {@link Try#either(CheckedSupplier) either} returns it as a left.
+	 *
+	 * @param maxConcurrent the maximum number of concurrent calls
+	 * @param maxWait       the longest time a call may wait for a permit
+	 * @return a concurrency limited function
+	 * @throws IllegalArgumentException if maxConcurrent is not positive or the wait
+	 *                                  is negative
+	 */
+	default CheckedFunction<T, R> bulkhead(final int maxConcurrent, final Duration maxWait) {
+		if (maxConcurrent < 1) {
+			throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+		}
+		final Semaphore permits = new Semaphore(maxConcurrent);
+		final long maxWaitNanos = requireNonNegative(maxWait);
+		return arg -> {
+			if (!permits.tryAcquire() && !permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+				throw new RejectedException("Bulkhead is full.");
+			}
+			try {
+				return applies(arg);
+			} finally {
+				permits.release();
+			}
+		};
+	}
+
+	/**
+	 * Coalesce concurrent calls to this function with equal keys, so that a burst
+	 * of callers for one key share a single invocation and its result. Keys must
+	 * not be null and must implement equals and hashCode.
+	 *
+	 * @return a coalescing function
+	 */
+	default SingleFlight<T, R> singleFlight() {
+		return new SingleFlight<>(this);
+	}
+
+	private static long requireNonNegative(final Duration maxWait) {
+		if (maxWait.isNegative()) {
+			throw new IllegalArgumentException("maxWait is negative");
+		}
+		return maxWait.toNanos();
+	}
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.function.Predicate;
+
+/**
+ * A predicate interface that automatically wraps any exceptions.
+ *
+ * @param <T> the predicate argument type
+ * @author Ramsey Gurley
+ */
+@FunctionalInterface
+public interface CheckedPredicate<T> extends Predicate<T> {
+	@Override
+	default boolean test(final T t) {
+		try {
+			return tests(t);
+		} catch (final Exception e) {
+			throw WrappedException.unchecked(e);
+		}
+	}
+
+	/**
+	 * Same as {@link java.util.function.Predicate#test(java.lang.Object) test}
+	 * except Exceptions may be thrown.
+	 *
+	 * @param t the predicate argument
+	 * @return true if the argument matches the predicate
+	 * @throws Exception an exception
+	 */
+	boolean tests(T t) throws Exception;
+}
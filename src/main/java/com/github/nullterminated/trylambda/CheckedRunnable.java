@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+/**
+ * A runnable interface that automatically wraps any exceptions.
+ *
+ * @author Ramsey Gurley
+ */
+@FunctionalInterface
+public interface CheckedRunnable extends Runnable {
+	@Override
+	default void run() {
+		try {
+			runs();
+		} catch (final Exception e) {
+			throw WrappedException.unchecked(e);
+		}
+	}
+
+	/**
+	 * Same as {@link java.lang.Runnable#run() run} except Exceptions may be
+	 * thrown.
+	 *
+	 * @throws Exception an exception
+	 */
+	void runs() throws Exception;
+}
@@ -25,15 +25,13 @@ import java.util.function.Supplier;
  * @param <T> the supplier return type
  */
 @FunctionalInterface
-public interface CheckedSupplier<T> extends Supplier<T> {
+public interface CheckedSupplier<T> extends Supplier<T>, ThrowingSupplier<T, Exception> {
 	@Override
 	default T get() {
 		try {
 			return gets();
-		} catch (final WrappedException e) {
-			throw e;
 		} catch (final Exception e) {
-			throw WrappedException.wrap(e);
+			throw WrappedException.unchecked(e);
 		}
 	}
 
@@ -44,5 +42,6 @@ public interface CheckedSupplier<T> extends Supplier<T> {
 	 * @return the supplied object
 	 * @throws Exception an exception
 	 */
+	@Override
 	T gets() throws Exception;
 }
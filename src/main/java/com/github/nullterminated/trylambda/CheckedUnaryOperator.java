@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A unary operator interface that automatically wraps any exceptions.
+ *
+ * @param <T> the operand and result type
+ * @author Ramsey Gurley
+ */
+@FunctionalInterface
+public interface CheckedUnaryOperator<T> extends CheckedFunction<T, T>, UnaryOperator<T> {
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+/**
+ * Thrown when a call is made after the deadline of its {@link TryContext} has
+ * passed or the context was cancelled.
+ *
+ * @author Ramsey Gurley
+ */
+public class DeadlineExceededException extends Exception {
+	/**
+	 * Default serial version uid.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param message
+	 *            the exception message
+	 */
+	public DeadlineExceededException(final String message) {
+		super(message);
+	}
+}
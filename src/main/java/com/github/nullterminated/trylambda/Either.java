@@ -18,6 +18,8 @@ package com.github.nullterminated.trylambda;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -32,7 +34,9 @@ import java.util.function.Function;
  * error value and the Right constructor is used to hold a correct value
  * (mnemonic: "right" also means "correct").
  *
- * Pattern matching is accomplished using polymorphism.
+ * Pattern matching is accomplished using polymorphism. On Java 17 and later
+ * Either is sealed, so Left and Right may also be matched with instanceof and
+ * switch patterns.
  *
  * @param <A> the left value type
  * @param <B> the right value type
@@ -41,6 +45,10 @@ import java.util.function.Function;
 public abstract class Either<A, B> implements Serializable {
 
 	private static final long serialVersionUID = 1L;
+	static final int LEFT_SEED = 0x9e3779b9;
+	static final int RIGHT_SEED = 0x85ebca6b;
+	private static final Set<Class<?>> IMMUTABLE = Set.of(String.class, Integer.class, Long.class, Short.class,
+			Byte.class, Character.class, Boolean.class, Double.class, Float.class, UUID.class);
 
 	/**
 	 * Private constructor to limit subclasses to inner classes.
@@ -72,6 +80,35 @@ public abstract class Either<A, B> implements Serializable {
 		return new Right<>(right);
 	}
 
+	/**
+	 * Run a step function repeatedly in constant stack, as a stack safe
+	 * replacement for recursion over Either. Each step returns a left to stop
+	 * with a failure, a right holding a left to continue with a new state, or a
+	 * right holding a right to stop with a result.
+	 *
+	 * @param <S>     the state type
+	 * @param <A>     the left type
+	 * @param <B>     the right type
+	 * @param initial the initial state
+	 * @param step    the step function
+	 * @return the first left, or the final result as a right
+	 */
+	public static <S, A, B> Either<A, B> loop(final S initial, final Function<S, Either<A, Either<S, B>>> step) {
+		Objects.requireNonNull(step);
+		S state = initial;
+		while (true) {
+			final Either<A, Either<S, B>> next = step.apply(state);
+			if (next.isLeft()) {
+				return left(next.getLeft());
+			}
+			final Either<S, B> inner = next.getRight();
+			if (inner.isRight()) {
+				return right(inner.getRight());
+			}
+			state = inner.getLeft();
+		}
+	}
+
 	/**
 	 *
 	 * @return true if left
@@ -138,10 +175,38 @@ public abstract class Either<A, B> implements Serializable {
 	 */
 	public abstract Either<B, A> flip();
 
+	/**
+	 * Hash a value with the murmur3 finalizer, so that lefts and rights of the
+	 * same value, and values with nearby hashes, spread across hash table
+	 * buckets.
+	 *
+	 * @param value the non null value
+	 * @param seed  the seed for the side holding the value
+	 * @return the mixed hash
+	 */
+	static int hash(final Object value, final int seed) {
+		int h = value.hashCode() ^ seed;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 *
+	 * @param value the non null value
+	 * @return true if the value's hash can never change
+	 */
+	static boolean isImmutable(final Object value) {
+		return IMMUTABLE.contains(value.getClass());
+	}
+
 	public static final class Left<A, B> extends Either<A, B> {
 
 		private static final long serialVersionUID = 1L;
 		private final A left;
+		private transient int hash;
 
 		private Left(final A left) {
 			if (left == null) {
@@ -150,6 +215,15 @@ public abstract class Either<A, B> implements Serializable {
 			this.left = left;
 		}
 
+		/**
+		 * Record style accessor for use after pattern matching on Left.
+		 *
+		 * @return the left value
+		 */
+		public A left() {
+			return left;
+		}
+
 		@Override
 		public A getLeft() {
 			return left;
@@ -162,14 +236,19 @@ public abstract class Either<A, B> implements Serializable {
 
 		@Override
 		public int hashCode() {
-			final int hash = 7;
-			return 17 * hash + Objects.hashCode(left);
+			int h = hash;
+			if (h == 0) {
+				h = Either.hash(left, LEFT_SEED);
+				if (isImmutable(left)) {
+					hash = h;
+				}
+			}
+			return h;
 		}
 
 		@Override
 		public boolean equals(final Object obj) {
-			return this == obj || obj != null && Objects.equals(getClass(), obj.getClass())
-					&& Objects.equals(left, ((Left<?, ?>) obj).left);
+			return this == obj || obj instanceof Left && left.equals(((Left<?, ?>) obj).left);
 		}
 
 		@Override
@@ -203,6 +282,7 @@ public abstract class Either<A, B> implements Serializable {
 		private static final long serialVersionUID = 1L;
 
 		private final B right;
+		private transient int hash;
 
 		private Right(final B right) {
 			if (right == null) {
@@ -216,6 +296,15 @@ public abstract class Either<A, B> implements Serializable {
 			throw new UnsupportedOperationException("Cannot getLeft from Right.");
 		}
 
+		/**
+		 * Record style accessor for use after pattern matching on Right.
+		 *
+		 * @return the right value
+		 */
+		public B right() {
+			return right;
+		}
+
 		@Override
 		public B getRight() {
 			return right;
@@ -223,14 +312,19 @@ public abstract class Either<A, B> implements Serializable {
 
 		@Override
 		public int hashCode() {
-			final int hash = 3;
-			return 41 * hash + Objects.hashCode(right);
+			int h = hash;
+			if (h == 0) {
+				h = Either.hash(right, RIGHT_SEED);
+				if (isImmutable(right)) {
+					hash = h;
+				}
+			}
+			return h;
 		}
 
 		@Override
 		public boolean equals(final Object obj) {
-			return this == obj || obj != null && Objects.equals(getClass(), obj.getClass())
-					&& Objects.equals(right, ((Right<?, ?>) obj).right);
+			return this == obj || obj instanceof Right && right.equals(((Right<?, ?>) obj).right);
 		}
 
 		@Override
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A concurrent cache of checked loads. Unlike
+ * {@link ConcurrentHashMap#computeIfAbsent(Object, java.util.function.Function)
+ * ConcurrentHashMap.computeIfAbsent}, the loader runs outside of any map lock
+ * and its {@link Either} result is stored, so concurrent callers for a key
+ * share one load. Failures may be cached for a time to keep a failing backend
+ * from being retried by every caller, and values may be refreshed in the
+ * background once they reach a given age, while callers keep receiving the
+ * current value.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Ramsey Gurley
+ */
+public final class EitherMap<K, V> {
+
+	/**
+	 * The shortest time between a failed refresh and the next one for a key.
+	 */
+	static final long MIN_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+	private final ConcurrentMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+	private final long failureTtlNanos;
+	private final long refreshAfterNanos;
+	private final long retryNanos;
+	private final Executor executor;
+
+	/**
+	 * Create a map which does not cache failures or refresh values.
+	 */
+	public EitherMap() {
+		this(Duration.ZERO);
+	}
+
+	/**
+	 * Create a map which caches failures for a time and never refreshes values.
+	 *
+	 * @param failureTtl how long a failure is returned before the key is loaded
+	 *                   again, or zero to not cache failures
+	 * @throws IllegalArgumentException if failureTtl is negative
+	 */
+	public EitherMap(final Duration failureTtl) {
+		this(failureTtl, null, null);
+	}
+
+	/**
+	 * Create a map which caches failures for a time and refreshes values in the
+	 * background once they are older than refreshAfter. Only one refresh runs
+	 * at a time for a key, and a failed refresh keeps the current value. After
+	 * a failed refresh, the next one starts no sooner than refreshAfter or one
+	 * second later, whichever is longer.
+	 *
+	 * @param failureTtl   how long a failure is returned before the key is
+	 *                     loaded again, or zero to not cache failures
+	 * @param refreshAfter the age of a value at which a call starts a refresh
+	 * @param executor     the executor running refreshes
+	 * @throws IllegalArgumentException if failureTtl or refreshAfter is negative
+	 */
+	public EitherMap(final Duration failureTtl, final Duration refreshAfter, final Executor executor) {
+		if (failureTtl.isNegative() || refreshAfter != null && refreshAfter.isNegative()) {
+			throw new IllegalArgumentException("Duration is negative");
+		}
+		if (refreshAfter != null) {
+			Objects.requireNonNull(executor);
+		}
+		this.failureTtlNanos = failureTtl.toNanos();
+		this.refreshAfterNanos = refreshAfter == null ? Long.MAX_VALUE : refreshAfter.toNanos();
+		this.retryNanos = Math.max(refreshAfterNanos, MIN_RETRY_NANOS);
+		this.executor = executor;
+	}
+
+	/**
+	 * Return the stored result for the key, loading it if absent. The loader is
+	 * called by only one caller at a time for a key, without holding any map
+	 * lock, and other callers for the key wait for its result, even when it is
+	 * a failure which is not cached. A caller interrupted while waiting returns
+	 * the InterruptedException as a left.
+	 *
+	 * The loader runs without the current {@link TryContext}, so the deadline
+	 * of the caller which runs it does not fail the others. A caller whose
+	 * context has expired or was cancelled gets a
+	 * {@link DeadlineExceededException} without loading. A
+	 * DeadlineExceededException, CancellationException or InterruptedException
+	 * from the loader is never cached. If a load fails because the loading
+	 * caller is interrupted, its result is not shared and the waiting callers
+	 * load the key again.
+	 *
+	 * @param key    the key
+	 * @param loader the loader for an absent key
+	 * @return either the exception thrown by the loader or the loaded value
+	 * @throws NullPointerException if the key is null
+	 */
+	public Either<Exception, V> computeIfAbsent(final K key, final CheckedFunction<? super K, ? extends V> loader) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(loader);
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return Either.left(expired);
+		}
+		while (true) {
+			Entry<V> entry = map.get(key);
+			if (entry == null) {
+				final Entry<V> created = new Entry<>();
+				entry = map.putIfAbsent(key, created);
+				if (entry == null) {
+					return load(key, created, loader);
+				}
+			}
+			final boolean stored = entry.future.isDone();
+			final Either<Exception, V> result = entry.await();
+			if (result == null) {
+				continue;
+			}
+			final long age = System.nanoTime() - entry.loaded;
+			if (stored && result.isLeft() && age >= failureTtlNanos) {
+				map.remove(key, entry);
+				continue;
+			}
+			if (result.isRight() && age >= refreshAfterNanos && System.nanoTime() - entry.retryAt >= 0L
+					&& entry.refreshing.compareAndSet(false, true)) {
+				refresh(key, entry, loader);
+			}
+			return result;
+		}
+	}
+
+	private Either<Exception, V> load(final K key, final Entry<V> entry,
+			final CheckedFunction<? super K, ? extends V> loader) {
+		final Either<Exception, V> result;
+		try {
+			result = TryContext.detached(() -> loader.applies(key));
+		} catch (final Error e) {
+			map.remove(key, entry);
+			entry.future.completeExceptionally(e);
+			throw e;
+		}
+		entry.loaded = System.nanoTime();
+		final boolean interrupted = result.isLeft()
+				&& (result.getLeft() instanceof InterruptedException || Thread.currentThread().isInterrupted());
+		if (result.isLeft() && (failureTtlNanos == 0L || interrupted || !cacheable(result.getLeft()))) {
+			map.remove(key, entry);
+		}
+		entry.future.complete(interrupted ? null : result);
+		return result;
+	}
+
+	/**
+	 * Check whether a failure may be cached. Deadlines, cancellations and
+	 * interrupts belong to a single call rather than to the key.
+	 *
+	 * @param e the failure
+	 * @return true if the failure may be returned to later callers
+	 */
+	private static boolean cacheable(final Exception e) {
+		return !(e instanceof DeadlineExceededException || e instanceof CancellationException
+				|| e instanceof InterruptedException);
+	}
+
+	private void refresh(final K key, final Entry<V> entry, final CheckedFunction<? super K, ? extends V> loader) {
+		try {
+			executor.execute(() -> {
+				boolean refreshed = false;
+				try {
+					final Either<Exception, V> result = TryContext.detached(() -> loader.applies(key));
+					if (result.isRight()) {
+						final Entry<V> replacement = new Entry<>();
+						replacement.loaded = System.nanoTime();
+						replacement.future.complete(result);
+						refreshed = map.replace(key, entry, replacement);
+					}
+				} finally {
+					if (!refreshed) {
+						retryLater(entry);
+					}
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			retryLater(entry);
+		}
+	}
+
+	private void retryLater(final Entry<V> entry) {
+		entry.retryAt = System.nanoTime() + retryNanos;
+		entry.refreshing.set(false);
+	}
+
+	/**
+	 * Remove the stored result for a key, so the next call loads it again.
+	 *
+	 * @param key the key
+	 */
+	public void invalidate(final K key) {
+		map.remove(key);
+	}
+
+	/**
+	 * Remove every stored result.
+	 */
+	public void clear() {
+		map.clear();
+	}
+
+	/**
+	 *
+	 * @return the number of keys stored or loading
+	 */
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public String toString() {
+		return "EitherMap{" + "size=" + size() + '}';
+	}
+
+	private static final class Entry<V> {
+
+		final CompletableFuture<Either<Exception, V>> future = new CompletableFuture<>();
+		final AtomicBoolean refreshing = new AtomicBoolean();
+		volatile long loaded;
+		volatile long retryAt = System.nanoTime();
+
+		/**
+		 * Wait for the load of the entry.
+		 *
+		 * @return its result, or null if it is not shared and the key should be
+		 *         loaded again
+		 */
+		Either<Exception, V> await() {
+			try {
+				return future.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Either.left(e);
+			} catch (final ExecutionException e) {
+				throw (Error) e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+/**
+ * A lightweight exception for expected failures such as not found or invalid
+ * input. Failure signals capture no stack trace and permit no suppressed
+ * exceptions, so they are immutable and may be cached as constants and thrown
+ * repeatedly. The class is final, since the constructor caches a left and a
+ * WrappedException holding the new instance.
+ *
+ * Checked interfaces rethrow failure signals without wrapping them, and
+ * {@link Try#either(CheckedSupplier) either} returns the left cached by the
+ * signal, so an expected failure allocates nothing on the hot path.
+ *
+ * <pre>
+ * static final FailureSignal NOT_FOUND = new FailureSignal("not found");
+ *
+ * Either&lt;Exception, User&gt; user = Try.either(() -&gt; {
+ * 	User u = users.get(id);
+ * 	return u == null ? Try.fail(NOT_FOUND) : u;
+ * });
+ * </pre>
+ *
+ * @author Ramsey Gurley
+ */
+public final class FailureSignal extends RuntimeException {
+	/**
+	 * Default serial version uid.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	private final Either<Exception, ?> left;
+	private final WrappedException wrapped;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param message
+	 *            the failure message
+	 */
+	public FailureSignal(final String message) {
+		super(message, null, false, false);
+		this.left = Either.left(this);
+		this.wrapped = WrappedException.stackless(this);
+	}
+
+	/**
+	 * The cached left holding this signal.
+	 *
+	 * @param <R>
+	 *            the right type
+	 * @return a left holding this signal
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> Either<Exception, R> either() {
+		return (Either<Exception, R>) left;
+	}
+
+	/**
+	 *
+	 * @return the cached WrappedException holding this signal
+	 */
+	WrappedException wrapped() {
+		return wrapped;
+	}
+}
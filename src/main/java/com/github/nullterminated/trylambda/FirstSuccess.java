@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of {@link Try#firstSuccess(CheckedSupplier...) firstSuccess}.
+ * It holds the final result, which is the first supplied value or the last
+ * failure, along with every failure that came before it.
+ *
+ * @param <R> the supplied value type
+ * @author Ramsey Gurley
+ */
+public final class FirstSuccess<R> {
+
+	private final Either<Exception, R> result;
+	private final List<Exception> failures;
+
+	FirstSuccess(final Either<Exception, R> result, final List<Exception> failures) {
+		this.result = result;
+		this.failures = Collections.unmodifiableList(failures);
+	}
+
+	/**
+	 *
+	 * @return either the first supplied value or the last exception thrown
+	 */
+	public Either<Exception, R> getResult() {
+		return result;
+	}
+
+	/**
+	 *
+	 * @return an unmodifiable list of the failures preceding the result, in the
+	 *         order they happened
+	 */
+	public List<Exception> getFailures() {
+		return failures;
+	}
+
+	@Override
+	public String toString() {
+		return "FirstSuccess{result=" + result + ", failures=" + failures + "}";
+	}
+}
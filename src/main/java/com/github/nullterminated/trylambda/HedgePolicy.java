@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Configuration and metrics for hedged execution with
+ * {@link Try#hedged(CheckedSupplier, HedgePolicy, int, java.util.concurrent.Executor)
+ * hedged}.
+ *
+ * An adaptive policy starts with the initial hedge delay and, once enough
+ * calls have succeeded, switches to the configured percentile of observed call
+ * latency. Call latency is measured from the start of the first attempt to the
+ * first success, so calls won by a hedge are counted at their full duration
+ * rather than at the duration of the winning hedge. The percentile is
+ * recomputed after every {@value #UPDATE_INTERVAL} recorded calls. A policy is
+ * meant to be shared by all calls to the same backend so that the delay follows
+ * that backend's latency distribution.
+ *
+ * @author Ramsey Gurley
+ */
+public final class HedgePolicy {
+
+	/**
+	 * The number of recorded latencies required before the delay adapts.
+	 */
+	static final int MIN_SAMPLES = 32;
+
+	/**
+	 * The number of recorded latencies between updates of the adaptive delay.
+	 */
+	static final int UPDATE_INTERVAL = 64;
+
+	private final long initialDelayNanos;
+	private final double percentile;
+	private final boolean adaptive;
+	private final boolean recording;
+	private volatile long delayNanos;
+	private volatile long nextUpdate = MIN_SAMPLES;
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder hedges = new LongAdder();
+	private final LongAdder hedgeWins = new LongAdder();
+
+	/**
+	 * Construct an adaptive policy hedging at the 95th percentile.
+	 *
+	 * @param initialDelay the hedge delay used until enough latencies are recorded
+	 */
+	public HedgePolicy(final Duration initialDelay) {
+		this(initialDelay, 95.0);
+	}
+
+	/**
+	 * Construct an adaptive policy.
+	 *
+	 * @param initialDelay the hedge delay used until enough latencies are recorded
+	 * @param percentile   the latency percentile used as the hedge delay
+	 * @throws IllegalArgumentException if the delay is negative or the percentile
+	 *                                  is not in the range (0, 100]
+	 */
+	public HedgePolicy(final Duration initialDelay, final double percentile) {
+		this(initialDelay, percentile, true, true);
+	}
+
+	private HedgePolicy(final Duration initialDelay, final double percentile, final boolean adaptive,
+			final boolean recording) {
+		if (Objects.requireNonNull(initialDelay).isNegative()) {
+			throw new IllegalArgumentException("initialDelay is negative");
+		}
+		if (!(percentile > 0.0 && percentile <= 100.0)) {
+			throw new IllegalArgumentException("percentile must be in the range (0, 100]: " + percentile);
+		}
+		this.initialDelayNanos = initialDelay.toNanos();
+		this.percentile = percentile;
+		this.adaptive = adaptive;
+		this.recording = recording;
+		this.delayNanos = initialDelayNanos;
+	}
+
+	/**
+	 * Factory method for a policy which always uses the same hedge delay.
+	 *
+	 * @param delay the hedge delay
+	 * @return a new fixed policy
+	 */
+	public static HedgePolicy fixed(final Duration delay) {
+		return new HedgePolicy(delay, 100.0, false, true);
+	}
+
+	/**
+	 * Factory method for a fixed policy which keeps no metrics, for callers which
+	 * have no way to read them.
+	 *
+	 * @param delay the hedge delay
+	 * @return a new fixed policy which ignores recorded calls
+	 */
+	static HedgePolicy unrecorded(final Duration delay) {
+		return new HedgePolicy(delay, 100.0, false, false);
+	}
+
+	/**
+	 *
+	 * @return the delay before the next hedge is started
+	 */
+	public Duration getHedgeDelay() {
+		return Duration.ofNanos(hedgeDelayNanos());
+	}
+
+	long hedgeDelayNanos() {
+		if (!adaptive) {
+			return initialDelayNanos;
+		}
+		final long count = latencies.count();
+		if (count < MIN_SAMPLES) {
+			nextUpdate = MIN_SAMPLES;
+			return initialDelayNanos;
+		}
+		if (count >= nextUpdate) {
+			nextUpdate = count + UPDATE_INTERVAL;
+			delayNanos = latencies.percentile(percentile);
+		}
+		return delayNanos;
+	}
+
+	/**
+	 *
+	 * @return the latencies of successful calls
+	 */
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+
+	/**
+	 *
+	 * @return the number of hedged calls
+	 */
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	/**
+	 *
+	 * @return the number of attempts started in addition to the first
+	 */
+	public long getHedges() {
+		return hedges.sum();
+	}
+
+	/**
+	 *
+	 * @return the number of calls won by an attempt other than the first
+	 */
+	public long getHedgeWins() {
+		return hedgeWins.sum();
+	}
+
+	/**
+	 *
+	 * @return the fraction of started hedges which won their call
+	 */
+	public double getHedgeWinRatio() {
+		final long started = hedges.sum();
+		return started == 0L ? 0.0 : (double) hedgeWins.sum() / started;
+	}
+
+	void recordCall(final int attempts) {
+		if (!recording) {
+			return;
+		}
+		calls.increment();
+		hedges.add(attempts - 1L);
+	}
+
+	void recordWin(final int attempt, final long nanos) {
+		if (!recording) {
+			return;
+		}
+		latencies.record(nanos);
+		if (attempt > 0) {
+			hedgeWins.increment();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HedgePolicy{" + "hedgeDelay=" + getHedgeDelay() + ", calls=" + getCalls() + ", hedges="
+				+ getHedges() + ", hedgeWins=" + getHedgeWins() + '}';
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lightweight, lock free latency histogram in the style of HdrHistogram.
+ *
+ * Values are recorded in nanoseconds into log-linear buckets. Each power of two
+ * is divided into 32 linear sub buckets, so any reported percentile is within
+ * about 3% of the true value. Values larger than roughly 18 minutes are clamped
+ * into the last bucket. Recording increments one bucket and a running total, so
+ * the count is available without reading the buckets. Under heavy contention the
+ * histogram may be striped, so that threads record into separate counters
+ * which are only merged when read.
+ *
+ * @author Ramsey Gurley
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_MAGNITUDE = 39;
+	private static final long MAX_VALUE = (1L << MAX_MAGNITUDE + 1) - 1;
+	private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+	private final int stripeMask;
+	private final AtomicLongArray counts;
+	private final LongAdder recorded = new LongAdder();
+
+	/**
+	 * Construct a histogram with a single stripe.
+	 */
+	public LatencyHistogram() {
+		this(1);
+	}
+
+	/**
+	 * Construct a striped histogram.
+	 *
+	 * @param stripes the number of stripes, rounded up to a power of two
+	 * @throws IllegalArgumentException if stripes is not in the range [1, 64]
+	 */
+	public LatencyHistogram(final int stripes) {
+		if (stripes < 1 || stripes > 64) {
+			throw new IllegalArgumentException("stripes must be in the range [1, 64]: " + stripes);
+		}
+		final int size = Integer.highestOneBit(stripes - 1 << 1 | 1);
+		this.stripeMask = size - 1;
+		this.counts = new AtomicLongArray(size * BUCKETS);
+	}
+
+	/**
+	 * Record a latency.
+	 *
+	 * @param nanos the latency in nanoseconds, negative values are recorded as zero
+	 */
+	public void record(final long nanos) {
+		final int stripe = (int) Thread.currentThread().getId() & stripeMask;
+		counts.incrementAndGet(stripe * BUCKETS + index(Math.min(Math.max(nanos, 0L), MAX_VALUE)));
+		recorded.increment();
+	}
+
+	/**
+	 *
+	 * @return the number of recorded values
+	 */
+	public long count() {
+		return recorded.sum();
+	}
+
+	/**
+	 * Estimate the value at the given percentile. The result is the upper bound of
+	 * the bucket containing the percentile, so the estimate is never lower than
+	 * the recorded values it represents.
+	 *
+	 * @param percentile a percentile in the range (0, 100]
+	 * @return the estimated value in nanoseconds, or zero if nothing is recorded
+	 * @throws IllegalArgumentException if the percentile is out of range
+	 */
+	public long percentile(final double percentile) {
+		if (!(percentile > 0.0 && percentile <= 100.0)) {
+			throw new IllegalArgumentException("percentile must be in the range (0, 100]: " + percentile);
+		}
+		final long[] snapshot = new long[BUCKETS];
+		long total = 0L;
+		for (int i = 0; i < counts.length(); i++) {
+			final long count = counts.get(i);
+			snapshot[i % BUCKETS] += count;
+			total += count;
+		}
+		final long target = (long) Math.ceil(percentile / 100.0 * total);
+		long seen = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= target && snapshot[i] > 0L) {
+				return highestEquivalentValue(i);
+			}
+		}
+		return 0L;
+	}
+
+	/**
+	 * Discard all recorded values.
+	 */
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0L);
+		}
+		recorded.reset();
+	}
+
+	/**
+	 * Map a value to its bucket index. Values below 64 have their own bucket, above
+	 * that each power of two shares 32 buckets.
+	 *
+	 * @param value a non negative value
+	 * @return the bucket index
+	 */
+	static int index(final long value) {
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if (magnitude <= SUB_BUCKET_BITS) {
+			return (int) value;
+		}
+		final int shift = magnitude - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKETS + (int) (value >>> shift);
+	}
+
+	/**
+	 *
+	 * @param index a bucket index
+	 * @return the largest value recorded into the bucket
+	 */
+	static long highestEquivalentValue(final int index) {
+		if (index < 2 * SUB_BUCKETS) {
+			return index;
+		}
+		final int shift = index / SUB_BUCKETS - 1;
+		final long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+		return (sub + 1 << shift) - 1;
+	}
+}
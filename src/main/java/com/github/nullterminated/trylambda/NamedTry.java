@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.function.Supplier;
+
+/**
+ * A named call site created by {@link Try#named(String) named}. Calls made
+ * through it record their outcome and latency in the {@link TryStats} for the
+ * name. Where {@link PinningMonitor#isSupported()} is true, they are also
+ * reported to the flight recorder when the
+ * {@code com.github.nullterminated.trylambda.TryCall} event is enabled, so the
+ * jdk.jfr module is only needed on runtimes which can monitor pinning.
+ * Instances may be kept in a constant.
+ *
+ * @author Ramsey Gurley
+ */
+public final class NamedTry {
+
+	private final TryStats stats;
+
+	NamedTry(final TryStats stats) {
+		this.stats = stats;
+	}
+
+	/**
+	 *
+	 * @return the call site name
+	 */
+	public String getName() {
+		return stats.getName();
+	}
+
+	/**
+	 *
+	 * @return the statistics for this call site
+	 */
+	public TryStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Same as {@link Try#either(java.util.function.Supplier) either}, recording
+	 * the outcome and latency of the call.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param supplier the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	public <R> Either<Exception, R> either(final Supplier<R> supplier) {
+		return PinningMonitor.isSupported() ? TryCallEvent.either(this, supplier) : call(supplier);
+	}
+
+	/**
+	 * Call the supplier and record the outcome and latency of the call.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param supplier the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	<R> Either<Exception, R> call(final Supplier<R> supplier) {
+		final long start = System.nanoTime();
+		final Either<Exception, R> result = Try.either(supplier);
+		stats.record(result, System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Same as {@link Try#either(CheckedSupplier) either}, recording the outcome
+	 * and latency of the call.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param supplier the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	public <R> Either<Exception, R> either(final CheckedSupplier<R> supplier) {
+		return either((Supplier<R>) supplier);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fork join task which runs a range of suppliers with
+ * {@link Try#either(CheckedSupplier) either} and stores each result at the
+ * index of its supplier. Ranges are split in half only while the worker has
+ * few queued tasks, so splitting adapts to the load on the pool. Every index
+ * is written by exactly one task, so no synchronization is needed to keep the
+ * results in order.
+ *
+ * @param <R> the supplied value type
+ * @author Ramsey Gurley
+ */
+final class ParallelEither<R> extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Split a range while the current worker has no more than this many surplus
+	 * queued tasks.
+	 */
+	private static final int SURPLUS = 3;
+
+	private final State<R> state;
+	private final int lo;
+	private final int hi;
+
+	private ParallelEither(final State<R> state, final int lo, final int hi) {
+		this.state = state;
+		this.lo = lo;
+		this.hi = hi;
+	}
+
+	/**
+	 * Run the suppliers in the pool.
+	 *
+	 * @param <R>             the supplied value type
+	 * @param suppliers       the suppliers to run
+	 * @param pool            the pool running the suppliers
+	 * @param cancelOnFailure true to skip suppliers not yet started after a
+	 *                        failure
+	 * @return the results in the order of the suppliers
+	 */
+	static <R> List<Either<Exception, R>> invoke(final List<? extends CheckedSupplier<R>> suppliers,
+			final ForkJoinPool pool, final boolean cancelOnFailure) {
+		final State<R> state = new State<>(suppliers, cancelOnFailure);
+		if (state.results.length > 0) {
+			pool.invoke(new ParallelEither<>(state, 0, state.results.length));
+		}
+		return Collections.unmodifiableList(Arrays.asList(state.results));
+	}
+
+	@Override
+	protected void compute() {
+		if (hi - lo > 1 && getSurplusQueuedTaskCount() <= SURPLUS) {
+			final int mid = lo + hi >>> 1;
+			invokeAll(new ParallelEither<>(state, lo, mid), new ParallelEither<>(state, mid, hi));
+		} else {
+			for (int i = lo; i < hi; i++) {
+				state.run(i);
+			}
+		}
+	}
+
+	private static final class State<R> {
+
+		private final CheckedSupplier<?>[] suppliers;
+		private final Either<Exception, R>[] results;
+		private final boolean cancelOnFailure;
+		private volatile boolean failed;
+
+		@SuppressWarnings("unchecked")
+		State(final List<? extends CheckedSupplier<R>> suppliers, final boolean cancelOnFailure) {
+			this.suppliers = suppliers.toArray(new CheckedSupplier<?>[0]);
+			this.results = (Either<Exception, R>[]) new Either<?, ?>[this.suppliers.length];
+			this.cancelOnFailure = cancelOnFailure;
+		}
+
+		@SuppressWarnings("unchecked")
+		void run(final int index) {
+			if (failed) {
+				results[index] = Either.left(new CancellationException("Cancelled after an earlier failure."));
+				return;
+			}
+			final Either<Exception, R> result = Try.either((CheckedSupplier<R>) suppliers[index]);
+			if (cancelOnFailure && result.isLeft()) {
+				failed = true;
+			}
+			results[index] = result;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Matches pinning events to the named calls running on the pinned thread for
+ * {@link PinningMonitor}. Flight recorder commits a call event when the call
+ * ends, so pinning is held by thread until a call around it ends or a whole
+ * flush interval passes without one. The pinned, call and flush methods must
+ * be called from a single thread, such as the event stream thread.
+ *
+ * @author Ramsey Gurley
+ */
+final class PinningAttribution {
+
+	private final ConcurrentMap<String, LongAdder> pinned = new ConcurrentHashMap<>();
+	private final Map<Long, List<Instant>> pending = new HashMap<>();
+	private Instant lastFlush = Instant.MIN;
+
+	/**
+	 * Record a pinning event.
+	 *
+	 * @param threadId the id of the pinned thread, or null if unknown
+	 * @param start    the start time of the pinning
+	 */
+	void pinned(final Long threadId, final Instant start) {
+		if (threadId == null) {
+			count(PinningMonitor.UNNAMED);
+		} else {
+			pending.computeIfAbsent(threadId, k -> new ArrayList<>()).add(start);
+		}
+	}
+
+	/**
+	 * Record the end of a named call. Pending pinning on the thread within the
+	 * call is counted against the call site, and earlier pending pinning is
+	 * counted as unnamed.
+	 *
+	 * @param threadId the id of the thread which made the call
+	 * @param callSite the call site name
+	 * @param begin    the start time of the call
+	 * @param end      the end time of the call
+	 */
+	void call(final long threadId, final String callSite, final Instant begin, final Instant end) {
+		final List<Instant> starts = pending.get(threadId);
+		if (starts == null) {
+			return;
+		}
+		for (final Iterator<Instant> i = starts.iterator(); i.hasNext();) {
+			final Instant start = i.next();
+			if (start.isBefore(begin)) {
+				count(PinningMonitor.UNNAMED);
+				i.remove();
+			} else if (!start.isAfter(end)) {
+				count(callSite);
+				i.remove();
+			}
+		}
+		if (starts.isEmpty()) {
+			pending.remove(threadId);
+		}
+	}
+
+	/**
+	 * Record a stream flush. Pinning which has waited a whole flush interval
+	 * without a named call ending around it happened outside any named call.
+	 *
+	 * @param now the time of the flush
+	 */
+	void flush(final Instant now) {
+		final Instant cutoff = lastFlush;
+		lastFlush = now;
+		for (final Iterator<List<Instant>> i = pending.values().iterator(); i.hasNext();) {
+			final List<Instant> starts = i.next();
+			starts.removeIf(start -> {
+				final boolean expired = start.isBefore(cutoff);
+				if (expired) {
+					count(PinningMonitor.UNNAMED);
+				}
+				return expired;
+			});
+			if (starts.isEmpty()) {
+				i.remove();
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return a snapshot of the number of pinning events by call site name
+	 */
+	Map<String, Long> snapshot() {
+		final Map<String, Long> snapshot = new TreeMap<>();
+		pinned.forEach((name, count) -> snapshot.put(name, count.sum()));
+		return snapshot;
+	}
+
+	private void count(final String callSite) {
+		pinned.computeIfAbsent(callSite, k -> new LongAdder()).increment();
+	}
+}
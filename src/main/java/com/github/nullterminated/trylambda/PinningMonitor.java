@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Attributes virtual thread pinning to named call sites. While running, the
+ * monitor streams {@code jdk.VirtualThreadPinned} flight recorder events and
+ * counts each one against the {@link NamedTry} call running on the pinned
+ * thread at the time, or {@link #UNNAMED} when there was none. Pinning in a
+ * named call which outlasts the stream flush interval of about a second may
+ * be counted as unnamed. Use
+ * {@link Try#offload(CheckedSupplier) offload} for call sites found to pin.
+ * Monitoring needs event streaming and the pinning event, so
+ * {@link #isSupported() isSupported} returns false unless the runtime has
+ * virtual threads and the flight recorder, including the optional jdk.jfr
+ * module, is available.
+ *
+ * @author Ramsey Gurley
+ */
+public final class PinningMonitor implements AutoCloseable {
+
+	/**
+	 * The call site of pinning outside any named call.
+	 */
+	public static final String UNNAMED = "<unnamed>";
+
+	private PinningMonitor() {
+	}
+
+	/**
+	 *
+	 * @return true if pinning can be monitored on this runtime
+	 */
+	public static boolean isSupported() {
+		return false;
+	}
+
+	/**
+	 * Start monitoring pinning which lasts at least 20 milliseconds, the
+	 * default threshold of the pinning event.
+	 *
+	 * @return a running monitor, which should be closed when done
+	 * @throws UnsupportedOperationException if monitoring is not supported
+	 */
+	public static PinningMonitor start() {
+		return start(Duration.ofMillis(20L));
+	}
+
+	/**
+	 * Start monitoring pinning which lasts at least the threshold.
+	 *
+	 * @param threshold the shortest pinning to count
+	 * @return a running monitor, which should be closed when done
+	 * @throws UnsupportedOperationException if monitoring is not supported
+	 */
+	public static PinningMonitor start(final Duration threshold) {
+		throw new UnsupportedOperationException("Pinning detection requires virtual threads and JFR.");
+	}
+
+	/**
+	 *
+	 * @return a snapshot of the number of pinning events by call site name
+	 */
+	public Map<String, Long> getPinned() {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * Stop monitoring.
+	 */
+	@Override
+	public void close() {
+	}
+}
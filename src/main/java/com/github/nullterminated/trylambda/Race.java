@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinates concurrent attempts of checked suppliers on an executor. Attempts
+ * report their completion to a queue which is polled by the calling thread.
+ * When the race is over, any attempt still running is cancelled with an
+ * interrupt. Attempts run in the {@link TryContext} that was current on the
+ * thread which created the race.
+ *
+ * @param <R> the supplied value type
+ * @author Ramsey Gurley
+ */
+final class Race<R> {
+
+	private final Executor executor;
+	private final TryContext context = TryContext.current();
+	private final BlockingQueue<Attempt<R>> completed = new LinkedBlockingQueue<>();
+	private final List<Attempt<R>> attempts = new ArrayList<>();
+
+	Race(final Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Run a supplier repeatedly, starting another attempt whenever none has
+	 * succeeded within the hedge delay, until one succeeds or all hedges have
+	 * failed.
+	 *
+	 * @param <R>       the supplied value type
+	 * @param supplier  the value supplier
+	 * @param policy    the hedge policy
+	 * @param maxHedges the maximum number of attempts in addition to the first
+	 * @param executor  the executor running the attempts
+	 * @return the first success, or the last failure
+	 */
+	static <R> Either<Exception, R> hedge(final CheckedSupplier<R> supplier, final HedgePolicy policy,
+			final int maxHedges, final Executor executor) {
+		final long start = System.nanoTime();
+		final long delay = policy.hedgeDelayNanos();
+		final Race<R> race = new Race<>(executor);
+		Either<Exception, R> result = null;
+		race.start(supplier);
+		int running = 1;
+		try {
+			while (running > 0) {
+				final Attempt<R> attempt = race.size() <= maxHedges ? race.poll(delay) : race.take();
+				if (attempt == null) {
+					race.start(supplier);
+					running++;
+					continue;
+				}
+				running--;
+				result = attempt.either();
+				if (result.isRight()) {
+					policy.recordWin(attempt.index, System.nanoTime() - start);
+					break;
+				}
+				if (running == 0 && race.size() <= maxHedges) {
+					race.start(supplier);
+					running++;
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result = Either.left(e);
+		} finally {
+			race.cancel();
+		}
+		policy.recordCall(race.size());
+		return result;
+	}
+
+	/**
+	 * Run every supplier at once and return the first success. Once a supplier
+	 * succeeds, the others are cancelled.
+	 *
+	 * @param <R>       the supplied value type
+	 * @param suppliers the suppliers to race
+	 * @param executor  the executor running the attempts
+	 * @return the first success, or the last failure, with the failures before it
+	 */
+	static <R> FirstSuccess<R> first(final List<CheckedSupplier<R>> suppliers, final Executor executor) {
+		final Race<R> race = new Race<>(executor);
+		final List<Exception> failures = new ArrayList<>();
+		Either<Exception, R> result = null;
+		try {
+			suppliers.forEach(race::start);
+			for (int running = suppliers.size(); running > 0; running--) {
+				result = race.take().either();
+				if (result.isRight()) {
+					break;
+				}
+				if (running > 1) {
+					failures.add(result.getLeft());
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result = Either.left(e);
+		} finally {
+			race.cancel();
+		}
+		return new FirstSuccess<>(result, failures);
+	}
+
+	/**
+	 * Start a new attempt in the context of the race. If the executor rejects
+	 * the attempt, it completes immediately with the rejection.
+	 *
+	 * @param supplier the value supplier
+	 */
+	void start(final CheckedSupplier<R> supplier) {
+		final Attempt<R> attempt = new Attempt<>(attempts.size(), context, supplier, completed);
+		attempts.add(attempt);
+		try {
+			executor.execute(attempt);
+		} catch (final RejectedExecutionException e) {
+			attempt.reject(e);
+		}
+	}
+
+	int size() {
+		return attempts.size();
+	}
+
+	Attempt<R> poll(final long nanos) throws InterruptedException {
+		return completed.poll(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	Attempt<R> take() throws InterruptedException {
+		return completed.take();
+	}
+
+	void cancel() {
+		attempts.forEach(attempt -> attempt.cancel(true));
+	}
+
+	static final class Attempt<R> extends FutureTask<Either<Exception, R>> {
+
+		final int index;
+		private final BlockingQueue<Attempt<R>> completed;
+
+		Attempt(final int index, final TryContext context, final CheckedSupplier<R> supplier,
+				final BlockingQueue<Attempt<R>> completed) {
+			super(() -> context == null ? Try.either(supplier) : context.either(supplier));
+			this.index = index;
+			this.completed = completed;
+		}
+
+		@Override
+		protected void done() {
+			completed.add(this);
+		}
+
+		void reject(final Exception e) {
+			setException(e);
+		}
+
+		Either<Exception, R> either() {
+			Either<Exception, R> result;
+			try {
+				result = get();
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				result = Either.left((Exception) e.getCause());
+			} catch (final InterruptedException | CancellationException e) {
+				result = Either.left(e);
+			}
+			return result;
+		}
+	}
+}
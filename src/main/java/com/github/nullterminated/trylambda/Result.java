@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A flat representation of {@link Either}. Where an Either is one of two
+ * subclasses, a Result is a single final class holding a tag and one value
+ * field. This keeps call sites monomorphic and is intended for large arrays of
+ * results.
+ *
+ * Result is written to become a value class once the JDK supports them. It is
+ * final, its fields are final, and it has no identity sensitive behavior, so
+ * callers should not synchronize on a Result or compare Results with ==.
+ *
+ * @param <A> the left value type
+ * @param <B> the right value type
+ * @author Ramsey Gurley
+ */
+public final class Result<A, B> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private static final byte LEFT = 0;
+	private static final byte RIGHT = 1;
+
+	private final byte tag;
+	private final Object value;
+
+	private Result(final byte tag, final Object value) {
+		this.tag = tag;
+		this.value = value;
+	}
+
+	/**
+	 * Factory method for constructing lefts.
+	 *
+	 * @param <A>  the left type
+	 * @param <B>  the right type
+	 * @param left the left value
+	 * @return a new left
+	 */
+	public static <A, B> Result<A, B> left(final A left) {
+		if (left == null) {
+			throw new IllegalArgumentException("left is null");
+		}
+		return new Result<>(LEFT, left);
+	}
+
+	/**
+	 * Factory method for constructing rights.
+	 *
+	 * @param <A>   the left type
+	 * @param <B>   the right type
+	 * @param right the right value
+	 * @return a new right
+	 */
+	public static <A, B> Result<A, B> right(final B right) {
+		if (right == null) {
+			throw new IllegalArgumentException("right is null");
+		}
+		return new Result<>(RIGHT, right);
+	}
+
+	/**
+	 * Convert an Either to a Result.
+	 *
+	 * @param <A>    the left type
+	 * @param <B>    the right type
+	 * @param either the either to convert
+	 * @return a new result with the value of the either
+	 */
+	public static <A, B> Result<A, B> from(final Either<A, B> either) {
+		return either.isLeft() ? new Result<>(LEFT, either.getLeft()) : new Result<>(RIGHT, either.getRight());
+	}
+
+	/**
+	 * Convert this Result to an Either.
+	 *
+	 * @return a new either with the value of this result
+	 */
+	public Either<A, B> toEither() {
+		return tag == LEFT ? Either.left(leftValue()) : Either.right(rightValue());
+	}
+
+	/**
+	 *
+	 * @return true if left
+	 */
+	public boolean isLeft() {
+		return tag == LEFT;
+	}
+
+	/**
+	 *
+	 * @return true if right
+	 */
+	public boolean isRight() {
+		return tag == RIGHT;
+	}
+
+	/**
+	 *
+	 * @return the left value
+	 * @throws UnsupportedOperationException if the receiver is right
+	 */
+	public A getLeft() {
+		if (tag != LEFT) {
+			throw new UnsupportedOperationException("Cannot getLeft from Right.");
+		}
+		return leftValue();
+	}
+
+	/**
+	 *
+	 * @return the right value
+	 * @throws UnsupportedOperationException if the receiver is left
+	 */
+	public B getRight() {
+		if (tag != RIGHT) {
+			throw new UnsupportedOperationException("Cannot getRight from Left.");
+		}
+		return rightValue();
+	}
+
+	/**
+	 * Pass the value of this result to a consumer.
+	 *
+	 * @param leftConsumer  the consumer for lefts
+	 * @param rightConsumer the consumer for rights
+	 */
+	public void use(final Consumer<A> leftConsumer, final Consumer<B> rightConsumer) {
+		if (tag == LEFT) {
+			leftConsumer.accept(leftValue());
+		} else {
+			rightConsumer.accept(rightValue());
+		}
+	}
+
+	/**
+	 * Map this Result&lt;A,B&gt; to a new Result&lt;X,Y&gt;.
+	 *
+	 * @param <X>           the new left type
+	 * @param <Y>           the new right type
+	 * @param leftFunction  function to convert A to X
+	 * @param rightFunction function to convert B to Y
+	 * @return a new Result&lt;X,Y&gt;
+	 */
+	public <X, Y> Result<X, Y> map(final Function<A, X> leftFunction, final Function<B, Y> rightFunction) {
+		return tag == LEFT ? left(leftFunction.apply(leftValue())) : right(rightFunction.apply(rightValue()));
+	}
+
+	/**
+	 * Reduce a Result&lt;A,B&gt; to a single value type T.
+	 *
+	 * @param <T>           the result type
+	 * @param leftFunction  function to convert A to T
+	 * @param rightFunction function to convert B to T
+	 * @return a value typed T
+	 */
+	public <T> T reduce(final Function<A, T> leftFunction, final Function<B, T> rightFunction) {
+		return tag == LEFT ? leftFunction.apply(leftValue()) : rightFunction.apply(rightValue());
+	}
+
+	/**
+	 * Flip a Result&lt;A,B&gt; to a Result&lt;B,A&gt;.
+	 *
+	 * @return a new result with types flipped
+	 */
+	public Result<B, A> flip() {
+		return new Result<>(tag == LEFT ? RIGHT : LEFT, value);
+	}
+
+	@Override
+	public int hashCode() {
+		return Either.hash(value, tag == LEFT ? Either.LEFT_SEED : Either.RIGHT_SEED);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return this == obj || obj instanceof Result && tag == ((Result<?, ?>) obj).tag
+				&& value.equals(((Result<?, ?>) obj).value);
+	}
+
+	@Override
+	public String toString() {
+		return tag == LEFT ? "Result{" + "left=" + value + '}' : "Result{" + "right=" + value + '}';
+	}
+
+	@SuppressWarnings("unchecked")
+	private A leftValue() {
+		return (A) value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private B rightValue() {
+		return (B) value;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A checked function which coalesces concurrent calls with equal keys. The
+ * first caller for a key invokes the underlying function while later callers
+ * for the same key wait and receive the same {@link Either} result. The
+ * in-flight entry is removed when the invocation completes, so results are
+ * never cached and the map only holds keys currently being computed. Waiting
+ * callers park rather than block on a monitor, which suits both platform and
+ * virtual threads. Created by {@link CheckedFunction#singleFlight()
+ * singleFlight}.
+ *
+ * @param <T> the function argument type
+ * @param <R> the function result type
+ * @author Ramsey Gurley
+ */
+public final class SingleFlight<T, R> implements CheckedFunction<T, R> {
+
+	private final CheckedFunction<T, R> function;
+	private final ConcurrentMap<T, CompletableFuture<Either<Exception, R>>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder invocations = new LongAdder();
+
+	SingleFlight(final CheckedFunction<T, R> function) {
+		this.function = function;
+	}
+
+	/**
+	 * Apply the function to the key, sharing the invocation with any concurrent
+	 * call for an equal key. The shared invocation runs without the current
+	 * {@link TryContext}, so the deadline of the caller which runs it does not
+	 * fail the others. A caller whose context has expired or was cancelled gets
+	 * a {@link DeadlineExceededException} without joining an invocation. If the
+	 * invocation fails because the invoking caller is interrupted, its result is
+	 * not shared and the waiting callers try again. If a waiting caller is interrupted, it stops waiting
+	 * and returns the InterruptedException as a left.
+	 *
+	 * @param key the function argument
+	 * @return either the exception thrown by the function or its result
+	 * @throws NullPointerException if the key is null
+	 */
+	public Either<Exception, R> either(final T key) {
+		Objects.requireNonNull(key);
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			calls.increment();
+			return Either.left(expired);
+		}
+		boolean counted = false;
+		Either<Exception, R> result;
+		do {
+			final CompletableFuture<Either<Exception, R>> flight = new CompletableFuture<>();
+			final CompletableFuture<Either<Exception, R>> existing = inFlight.putIfAbsent(key, flight);
+			if (!counted) {
+				calls.increment();
+				counted = true;
+			}
+			result = existing == null ? invoke(key, flight) : await(existing);
+		} while (result == null);
+		return result;
+	}
+
+	private Either<Exception, R> invoke(final T key, final CompletableFuture<Either<Exception, R>> flight) {
+		invocations.increment();
+		try {
+			final Either<Exception, R> result = TryContext.detached(() -> function.applies(key));
+			inFlight.remove(key, flight);
+			flight.complete(interrupted(result) ? null : result);
+			return result;
+		} catch (final Error e) {
+			inFlight.remove(key, flight);
+			flight.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Check whether a failure is owed to an interrupt of the invoking caller.
+	 *
+	 * @param result the result of the invocation
+	 * @return true if the result is an InterruptedException, or any other left
+	 *         while the invoking thread is interrupted
+	 */
+	private static boolean interrupted(final Either<Exception, ?> result) {
+		return result.isLeft()
+				&& (result.getLeft() instanceof InterruptedException || Thread.currentThread().isInterrupted());
+	}
+
+	/**
+	 * Wait for the invocation of another caller.
+	 *
+	 * @param flight the invocation
+	 * @return its result, or null if it is not shared and the call should be
+	 *         tried again
+	 */
+	private Either<Exception, R> await(final CompletableFuture<Either<Exception, R>> flight) {
+		try {
+			return flight.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Either.left(e);
+		} catch (final ExecutionException e) {
+			throw (Error) e.getCause();
+		}
+	}
+
+	/**
+	 * Same as {@link #either(Object) either}, except the exception of a left
+	 * result is thrown. Coalesced callers throw the same exception instance.
+	 *
+	 * @param key the function argument
+	 * @return the function result
+	 * @throws Exception the exception thrown by the shared invocation
+	 */
+	@Override
+	public R applies(final T key) throws Exception {
+		final Either<Exception, R> result = either(key);
+		if (result.isLeft()) {
+			throw result.getLeft();
+		}
+		return result.getRight();
+	}
+
+	/**
+	 *
+	 * @return the number of calls to this function
+	 */
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	/**
+	 *
+	 * @return the number of invocations of the underlying function
+	 */
+	public long getInvocations() {
+		return invocations.sum();
+	}
+
+	/**
+	 *
+	 * @return the fraction of calls which shared another call's invocation
+	 */
+	public double getCoalescingRatio() {
+		final long total = calls.sum();
+		return total == 0L ? 0.0 : 1.0 - (double) invocations.sum() / total;
+	}
+
+	@Override
+	public String toString() {
+		return "SingleFlight{" + "calls=" + getCalls() + ", invocations=" + getInvocations() + '}';
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a {@link WrappedException} captures a stack trace. Filling
+ * in a stack trace is the most expensive part of creating an exception, so at
+ * high failure rates a policy may capture stack traces for only a sample of
+ * failures.
+ *
+ * A sampled policy captures the first K failures of each exception class in
+ * every time window, and one in N failures at random after that. Each
+ * exception class counts its own window, so classes do not contend on a
+ * shared counter.
+ *
+ * The initial policy is read from system properties:
+ * <ul>
+ * <li>com.github.nullterminated.trylambda.stackTraceSampleRate: N, capture one
+ * in N failures, where 1 captures every failure and 0 disables sampling
+ * (default 1)</li>
+ * <li>com.github.nullterminated.trylambda.stackTraceBurst: K, capture the first
+ * K failures of each class per window (default 0)</li>
+ * <li>com.github.nullterminated.trylambda.stackTraceWindowMillis: the window
+ * length in milliseconds (default 1000)</li>
+ * </ul>
+ * Values which are not numbers are ignored. If any value is negative, a
+ * warning is logged and every stack trace is captured.
+ *
+ * @author Ramsey Gurley
+ */
+public final class StackTracePolicy {
+
+	private static final String PREFIX = "com.github.nullterminated.trylambda.";
+	private static volatile StackTracePolicy current = fromSystemProperties();
+
+	private final int sampleRate;
+	private final int burst;
+	private final long windowNanos;
+	private final ClassValue<Window> windows = new ClassValue<Window>() {
+		@Override
+		protected Window computeValue(final Class<?> type) {
+			return new Window();
+		}
+	};
+	private final LongAdder captured = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+
+	private StackTracePolicy(final int sampleRate, final int burst, final long windowNanos) {
+		this.sampleRate = sampleRate;
+		this.burst = burst;
+		this.windowNanos = windowNanos;
+	}
+
+	/**
+	 * Factory method for a policy which captures every stack trace.
+	 *
+	 * @return a new policy
+	 */
+	public static StackTracePolicy always() {
+		return new StackTracePolicy(1, 0, 0L);
+	}
+
+	/**
+	 * Factory method for a policy which never captures a stack trace.
+	 *
+	 * @return a new policy
+	 */
+	public static StackTracePolicy never() {
+		return new StackTracePolicy(0, 0, 0L);
+	}
+
+	/**
+	 * Factory method for a sampling policy.
+	 *
+	 * @param sampleRate capture one in sampleRate failures, or none if zero
+	 * @param burst      the number of failures of each exception class to capture
+	 *                   per window
+	 * @param window     the window length
+	 * @return a new policy
+	 * @throws IllegalArgumentException if any argument is negative
+	 */
+	public static StackTracePolicy sampled(final int sampleRate, final int burst, final Duration window) {
+		if (sampleRate < 0 || burst < 0 || window.isNegative()) {
+			throw new IllegalArgumentException("Sampling arguments must not be negative.");
+		}
+		return new StackTracePolicy(sampleRate, burst, window.toNanos());
+	}
+
+	/**
+	 *
+	 * @return the policy used by new WrappedExceptions
+	 */
+	public static StackTracePolicy get() {
+		return current;
+	}
+
+	/**
+	 * Set the policy used by new WrappedExceptions.
+	 *
+	 * @param policy the new policy
+	 */
+	public static void set(final StackTracePolicy policy) {
+		current = Objects.requireNonNull(policy);
+	}
+
+	static StackTracePolicy fromSystemProperties() {
+		try {
+			return sampled(Integer.getInteger(PREFIX + "stackTraceSampleRate", 1),
+					Integer.getInteger(PREFIX + "stackTraceBurst", 0),
+					Duration.ofMillis(Long.getLong(PREFIX + "stackTraceWindowMillis", 1000L)));
+		} catch (final IllegalArgumentException e) {
+			System.getLogger(StackTracePolicy.class.getName()).log(System.Logger.Level.WARNING,
+					"Ignoring invalid stack trace sampling properties, capturing every stack trace.", e);
+			return always();
+		}
+	}
+
+	/**
+	 * Decide whether to capture a stack trace for a failure.
+	 *
+	 * @param type the class of the failure
+	 * @return true to capture a stack trace
+	 */
+	boolean capture(final Class<?> type) {
+		final boolean capture = sampleRate == 1
+				|| burst > 0 && windows.get(type).acquire(burst, windowNanos)
+				|| sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+		(capture ? captured : skipped).increment();
+		return capture;
+	}
+
+	/**
+	 *
+	 * @return the number of stack traces captured under this policy
+	 */
+	public long getCaptured() {
+		return captured.sum();
+	}
+
+	/**
+	 *
+	 * @return the number of stack traces skipped under this policy
+	 */
+	public long getSkipped() {
+		return skipped.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "StackTracePolicy{" + "sampleRate=" + sampleRate + ", burst=" + burst + ", window="
+				+ Duration.ofNanos(windowNanos) + '}';
+	}
+
+	private static final class Window {
+
+		private final AtomicLong start = new AtomicLong(System.nanoTime());
+		private final AtomicInteger count = new AtomicInteger();
+
+		boolean acquire(final int burst, final long windowNanos) {
+			final long now = System.nanoTime();
+			final long began = start.get();
+			if (now - began >= windowNanos && start.compareAndSet(began, now)) {
+				count.set(0);
+			}
+			return count.get() < burst && count.incrementAndGet() <= burst;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+/**
+ * A function interface which declares the type of exception it throws. Every
+ * {@link CheckedFunction} is a throwing function of Exception, and a method
+ * reference to {@link #applies(Object) applies} converts a throwing function to
+ * a checked function.
+ *
+ * @param <T> the function argument type
+ * @param <R> the function result type
+ * @param <E> the exception type
+ * @author Ramsey Gurley
+ */
+@FunctionalInterface
+public interface ThrowingFunction<T, R, E extends Exception> {
+
+	/**
+	 * Same as {@link java.util.function.Function#apply(java.lang.Object) apply}
+	 * except exceptions of type E may be thrown.
+	 *
+	 * @param arg the function argument
+	 * @return the function result
+	 * @throws E an exception
+	 */
+	R applies(T arg) throws E;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+/**
+ * A supplier interface which declares the type of exception it throws. Use
+ * with {@link Try#either(Class, ThrowingSupplier) either} to receive that
+ * exception type as the left. Every {@link CheckedSupplier} is a throwing
+ * supplier of Exception, and a method reference to {@link #gets() gets}
+ * converts a throwing supplier to a checked supplier.
+ *
+ * @author Ramsey Gurley
+ * @param <T> the supplier return type
+ * @param <E> the exception type
+ */
+@FunctionalInterface
+public interface ThrowingSupplier<T, E extends Exception> {
+
+	/**
+	 * Same as {@link java.util.function.Supplier#get() get} except exceptions of
+	 * type E may be thrown.
+	 *
+	 * @return the supplied object
+	 * @throws E an exception
+	 */
+	T gets() throws E;
+}
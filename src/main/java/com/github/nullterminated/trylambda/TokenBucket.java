@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock free token bucket. Rather than storing a token count and a refill
+ * time, the bucket stores the theoretical arrival time of the next permit
+ * (the generic cell rate algorithm). Idle time refills the bucket up to its
+ * capacity, and each permit is acquired with a single compare and set.
+ *
+ * @author Ramsey Gurley
+ */
+final class TokenBucket {
+
+	private final long intervalNanos;
+	private final long toleranceNanos;
+	private final LongSupplier clock;
+	private final AtomicLong next;
+
+	/**
+	 * Construct a bucket holding one second of permits.
+	 *
+	 * @param permitsPerSecond the refill rate
+	 * @throws IllegalArgumentException if the rate is not positive
+	 */
+	TokenBucket(final double permitsPerSecond) {
+		this(permitsPerSecond, System::nanoTime);
+	}
+
+	/**
+	 * Construct a bucket holding one second of permits.
+	 *
+	 * @param permitsPerSecond the refill rate
+	 * @param clock            the nanosecond time source
+	 * @throws IllegalArgumentException if the rate is not positive
+	 */
+	TokenBucket(final double permitsPerSecond, final LongSupplier clock) {
+		if (!(permitsPerSecond > 0.0)) {
+			throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+		}
+		final long capacity = Math.max(1L, (long) permitsPerSecond);
+		this.intervalNanos = Math.max(1L, Math.round(1_000_000_000.0 / permitsPerSecond));
+		this.toleranceNanos = (capacity - 1L) * intervalNanos;
+		this.clock = clock;
+		this.next = new AtomicLong(clock.getAsLong());
+	}
+
+	/**
+	 * Reserve a permit if one is available now or within the maximum wait.
+	 *
+	 * @param maxWaitNanos the longest acceptable wait
+	 * @return the nanoseconds to wait before using the permit, or a negative value
+	 *         if no permit was reserved
+	 */
+	long reserve(final long maxWaitNanos) {
+		while (true) {
+			final long now = clock.getAsLong();
+			final long arrival = next.get();
+			final long wait = arrival - toleranceNanos - now;
+			if (wait > maxWaitNanos) {
+				return -1L;
+			}
+			if (next.compareAndSet(arrival, Math.max(arrival, now) + intervalNanos)) {
+				return Math.max(wait, 0L);
+			}
+		}
+	}
+
+	/**
+	 * Return a reserved permit which was not used. The bucket never holds more
+	 * than its capacity, so a refund after a long idle period is lost.
+	 */
+	void refund() {
+		next.addAndGet(-intervalNanos);
+	}
+
+	/**
+	 * Limit the rate of calls to a function. A call which is interrupted while
+	 * waiting for its permit refunds the permit.
+	 *
+	 * @param <T>          the argument type
+	 * @param <R>          the result type
+	 * @param function     the function to limit
+	 * @param maxWaitNanos the longest time a call may wait for a permit
+	 * @return a rate limited function
+	 */
+	<T, R> CheckedFunction<T, R> limit(final CheckedFunction<T, R> function, final long maxWaitNanos) {
+		return arg -> {
+			final long wait = reserve(maxWaitNanos);
+			if (wait < 0L) {
+				throw new RejectedException("Rate limit exceeded.");
+			}
+			try {
+				TimeUnit.NANOSECONDS.sleep(wait);
+			} catch (final InterruptedException e) {
+				refund();
+				throw e;
+			}
+			return function.applies(arg);
+		};
+	}
+}
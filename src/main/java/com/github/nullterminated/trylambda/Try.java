@@ -16,8 +16,28 @@
  */
 package com.github.nullterminated.trylambda;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * A utility class for handling try blocks using lambda expressions.
@@ -38,7 +58,10 @@ public final class Try {
 	 * of the function argument is rewrapped in a new supplier so that calls to this
 	 * method may be chained. If a {@link WrappedException} is thrown by the
 	 * supplier or function arguments, it is rethrown. All other exceptions are
-	 * passed to the errorHandler argument for handling.
+	 * passed to the errorHandler argument for handling. If the current
+	 * {@link TryContext} has expired or was cancelled, a
+	 * {@link DeadlineExceededException} is passed to the errorHandler without
+	 * calling the supplier.
 	 *
 	 * @param <T>
 	 *            the supplied AutoCloseable type
@@ -57,6 +80,10 @@ public final class Try {
 	public static <T extends AutoCloseable, R> CheckedSupplier<R> trys(final CheckedSupplier<T> supplier,
 			final Function<Exception, CheckedSupplier<R>> errorHandler,
 			final Function<T, CheckedSupplier<R>> function) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return errorHandler.apply(expired);
+		}
 		CheckedSupplier<R> result;
 		try (final T resource = supplier.gets()) {
 			final R value = function.apply(resource).gets();
@@ -94,7 +121,10 @@ public final class Try {
 	/**
 	 * Wraps the call to {@link java.util.function.Supplier#get() get} in a try
 	 * block. Either an exception thrown by the supplier or the supplied value is
-	 * returned. If a {@link WrappedException} is thrown, its cause is returned.
+	 * returned. If a {@link WrappedException} is thrown, its cause is returned. If
+	 * a {@link FailureSignal} is thrown, the left cached by the signal is returned.
+	 * If the current {@link TryContext} has expired or was cancelled, a
+	 * {@link DeadlineExceededException} is returned without calling the supplier.
 	 *
 	 * @param <R>
 	 *            the supplied value type
@@ -103,17 +133,47 @@ public final class Try {
 	 * @return either an exception thrown by the supplier or the supplied value
 	 */
 	public static <R> Either<Exception, R> either(Supplier<R> supplier) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return Either.left(expired);
+		}
 		Either<Exception, R> result;
 		try {
 			result = Either.right(supplier.get());
-		} catch (final WrappedException e) {
-			result = Either.left(e.getCause());
 		} catch (final Exception e) {
-			result = Either.left(e);
+			result = left(e);
 		}
 		return result;
 	}
 
+	/**
+	 * Convert a caught exception to a left. A WrappedException is unwrapped to
+	 * its cause and a failure signal returns its cached left.
+	 *
+	 * @param <R>
+	 *            the right type
+	 * @param e
+	 *            the caught exception
+	 * @return a left holding the exception
+	 */
+	static <R> Either<Exception, R> left(final Exception e) {
+		final Exception cause = failure(e);
+		return cause instanceof FailureSignal ? ((FailureSignal) cause).either() : Either.left(cause);
+	}
+
+	private static Exception failure(final Exception e) {
+		return e instanceof WrappedException ? ((WrappedException) e).getCause() : e;
+	}
+
+	/**
+	 *
+	 * @return the exception of {@link Either#right(Object) right} for a null
+	 *         value
+	 */
+	private static IllegalArgumentException rightIsNull() {
+		return new IllegalArgumentException("right is null");
+	}
+
 	/**
 	 * This method exists to allow usage of
 	 * {@link #either(java.util.function.Supplier) either} with checked suppliers
@@ -128,4 +188,678 @@ public final class Try {
 	public static <R> Either<Exception, R> either(CheckedSupplier<R> supplier) {
 		return either((Supplier<R>) supplier);
 	}
+
+	/**
+	 * Same as calling {@link Either#reduce(Function, Function) reduce} on the
+	 * result of {@link #either(CheckedSupplier) either}, except no Either is
+	 * created. The supplier is called and its exception or value is passed
+	 * straight to the matching function. As with either, a null value is passed
+	 * to onFailure as an {@link IllegalArgumentException}. Exceptions thrown by
+	 * the functions are not caught.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param <T>
+	 *            the result type
+	 * @param supplier
+	 *            the value supplier
+	 * @param onFailure
+	 *            function to convert an exception thrown by the supplier to T
+	 * @param onSuccess
+	 *            function to convert the supplied value to T
+	 * @return a value typed T
+	 */
+	public static <R, T> T fold(final CheckedSupplier<R> supplier,
+			final Function<? super Exception, ? extends T> onFailure, final Function<? super R, ? extends T> onSuccess) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return onFailure.apply(expired);
+		}
+		final R value;
+		try {
+			value = supplier.gets();
+		} catch (final Exception e) {
+			return onFailure.apply(failure(e));
+		}
+		return value == null ? onFailure.apply(rightIsNull()) : onSuccess.apply(value);
+	}
+
+	/**
+	 * Same as {@link #fold(CheckedSupplier, Function, Function) fold}, except the
+	 * result is a primitive int, so it is not boxed.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param supplier
+	 *            the value supplier
+	 * @param onFailure
+	 *            function to convert an exception thrown by the supplier to int
+	 * @param onSuccess
+	 *            function to convert the supplied value to int
+	 * @return an int
+	 */
+	public static <R> int foldInt(final CheckedSupplier<R> supplier, final ToIntFunction<? super Exception> onFailure,
+			final ToIntFunction<? super R> onSuccess) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return onFailure.applyAsInt(expired);
+		}
+		final R value;
+		try {
+			value = supplier.gets();
+		} catch (final Exception e) {
+			return onFailure.applyAsInt(failure(e));
+		}
+		return value == null ? onFailure.applyAsInt(rightIsNull()) : onSuccess.applyAsInt(value);
+	}
+
+	/**
+	 * Same as {@link #fold(CheckedSupplier, Function, Function) fold}, except the
+	 * context is passed to the function and to the handlers, so lambdas which
+	 * use the context argument instead of capturing variables may be kept in
+	 * constants.
+	 *
+	 * @param <C>
+	 *            the context type
+	 * @param <R>
+	 *            the function result type
+	 * @param <T>
+	 *            the result type
+	 * @param context
+	 *            the context
+	 * @param function
+	 *            the function applied to the context
+	 * @param onFailure
+	 *            function to convert the context and an exception thrown by the
+	 *            function to T
+	 * @param onSuccess
+	 *            function to convert the context and the function result to T
+	 * @return a value typed T
+	 */
+	public static <C, R, T> T fold(final C context, final CheckedFunction<? super C, ? extends R> function,
+			final BiFunction<? super C, ? super Exception, ? extends T> onFailure,
+			final BiFunction<? super C, ? super R, ? extends T> onSuccess) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return onFailure.apply(context, expired);
+		}
+		final R value;
+		try {
+			value = function.applies(context);
+		} catch (final Exception e) {
+			return onFailure.apply(context, failure(e));
+		}
+		return value == null ? onFailure.apply(context, rightIsNull()) : onSuccess.apply(context, value);
+	}
+
+	/**
+	 * Same as {@link #fold(Object, CheckedFunction, BiFunction, BiFunction)
+	 * fold}, except the result is a primitive int, so it is not boxed.
+	 *
+	 * @param <C>
+	 *            the context type
+	 * @param <R>
+	 *            the function result type
+	 * @param context
+	 *            the context
+	 * @param function
+	 *            the function applied to the context
+	 * @param onFailure
+	 *            function to convert the context and an exception thrown by the
+	 *            function to int
+	 * @param onSuccess
+	 *            function to convert the context and the function result to int
+	 * @return an int
+	 */
+	public static <C, R> int foldInt(final C context, final CheckedFunction<? super C, ? extends R> function,
+			final ToIntBiFunction<? super C, ? super Exception> onFailure,
+			final ToIntBiFunction<? super C, ? super R> onSuccess) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return onFailure.applyAsInt(context, expired);
+		}
+		final R value;
+		try {
+			value = function.applies(context);
+		} catch (final Exception e) {
+			return onFailure.applyAsInt(context, failure(e));
+		}
+		return value == null ? onFailure.applyAsInt(context, rightIsNull()) : onSuccess.applyAsInt(context, value);
+	}
+
+	/**
+	 * Same as {@link #either(CheckedSupplier) either}, except the left is typed
+	 * as the exception declared by the supplier. An exception of that type, or a
+	 * WrappedException caused by one, is returned as the left. Any other
+	 * exception propagates: a RuntimeException is thrown as is and anything else
+	 * is thrown as a {@link WrappedException}. This includes the
+	 * {@link DeadlineExceededException} of an expired {@link TryContext}, unless
+	 * the type accepts it.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param <E>
+	 *            the exception type
+	 * @param type
+	 *            the exception type
+	 * @param supplier
+	 *            the value supplier
+	 * @return either an exception of type E thrown by the supplier or the
+	 *         supplied value
+	 */
+	public static <R, E extends Exception> Either<E, R> either(final Class<E> type,
+			final ThrowingSupplier<R, E> supplier) {
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(supplier);
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return Either.left(caught(type, expired));
+		}
+		Either<E, R> result;
+		try {
+			result = Either.right(supplier.gets());
+		} catch (final Exception e) {
+			result = Either.left(caught(type, e));
+		}
+		return result;
+	}
+
+	private static <E extends Exception> E caught(final Class<E> type, final Exception e) {
+		final Throwable cause = e instanceof WrappedException ? e.getCause() : e;
+		if (type.isInstance(cause)) {
+			return type.cast(cause);
+		}
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		throw WrappedException.unchecked(e);
+	}
+
+	/**
+	 * Calls the policy form of this method with a fixed hedge delay. No metrics
+	 * are kept for these calls. To read them, pass a policy created with
+	 * {@link HedgePolicy#fixed(Duration)} to the policy form instead.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param supplier
+	 *            the value supplier
+	 * @param hedgeDelay
+	 *            the time to wait for an attempt before starting another
+	 * @param maxHedges
+	 *            the maximum number of attempts in addition to the first
+	 * @param executor
+	 *            the executor running the attempts
+	 * @return either the first supplied value or the last exception thrown
+	 */
+	public static <R> Either<Exception, R> hedged(final CheckedSupplier<R> supplier, final Duration hedgeDelay,
+			final int maxHedges, final Executor executor) {
+		return hedged(supplier, HedgePolicy.unrecorded(hedgeDelay), maxHedges, executor);
+	}
+
+	/**
+	 * Speculatively executes a supplier to cut tail latency. The supplier is run on
+	 * the executor and, if it has not succeeded within the hedge delay of the
+	 * policy, another attempt is started, up to maxHedges additional attempts. The
+	 * first attempt to supply a value wins and the others are cancelled. If an
+	 * attempt fails while no other attempt is running, the next hedge is started
+	 * immediately. If every attempt fails, the last exception is returned. The
+	 * calling thread blocks until the call is decided. The current
+	 * {@link TryContext} is carried to each attempt, and if it has expired or was
+	 * cancelled, a {@link DeadlineExceededException} is returned without
+	 * starting any attempt.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param supplier
+	 *            the value supplier, which must be safe to run concurrently
+	 * @param policy
+	 *            the hedge policy, which adapts its delay and records metrics
+	 * @param maxHedges
+	 *            the maximum number of attempts in addition to the first
+	 * @param executor
+	 *            the executor running the attempts
+	 * @return either the first supplied value or the last exception thrown
+	 * @throws IllegalArgumentException
+	 *             if maxHedges is negative
+	 */
+	public static <R> Either<Exception, R> hedged(final CheckedSupplier<R> supplier, final HedgePolicy policy,
+			final int maxHedges, final Executor executor) {
+		Objects.requireNonNull(supplier);
+		Objects.requireNonNull(policy);
+		Objects.requireNonNull(executor);
+		if (maxHedges < 0) {
+			throw new IllegalArgumentException("maxHedges is negative");
+		}
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return Either.left(expired);
+		}
+		return Race.hedge(supplier, policy, maxHedges, executor);
+	}
+
+	/**
+	 * Applies a function to each element of a list in constant stack, stopping at
+	 * the first exception. Results are gathered into a single array, so only one
+	 * Either is created for the whole traversal.
+	 *
+	 * @param <T>
+	 *            the element type
+	 * @param <R>
+	 *            the result type
+	 * @param list
+	 *            the elements
+	 * @param function
+	 *            the function to apply to each element
+	 * @return either the first exception thrown or an unmodifiable list of the
+	 *         results in the order of the elements
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, R> Either<Exception, List<R>> traverse(final List<T> list,
+			final CheckedFunction<? super T, ? extends R> function) {
+		Objects.requireNonNull(list);
+		Objects.requireNonNull(function);
+		return either(() -> {
+			final Object[] results = new Object[list.size()];
+			int i = 0;
+			for (final T element : list) {
+				results[i++] = function.applies(element);
+			}
+			return Collections.unmodifiableList(Arrays.asList((R[]) results));
+		});
+	}
+
+	/**
+	 * Calls each supplier in turn with {@link #either(CheckedSupplier) either}
+	 * until one supplies a value. This replaces a ladder of fallbacks, such as a
+	 * local cache, then a replica, then the primary source. Suppliers after the
+	 * first success are never called.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param suppliers
+	 *            the suppliers to try, in order of preference
+	 * @return the first supplied value or the last exception thrown, with the
+	 *         exceptions thrown before it
+	 * @throws IllegalArgumentException
+	 *             if there are no suppliers
+	 */
+	@SafeVarargs
+	public static <R> FirstSuccess<R> firstSuccess(final CheckedSupplier<R>... suppliers) {
+		final List<CheckedSupplier<R>> list = new ArrayList<>(suppliers.length);
+		for (final CheckedSupplier<R> supplier : suppliers) {
+			list.add(supplier);
+		}
+		final List<Exception> failures = new ArrayList<>();
+		Either<Exception, R> result = null;
+		for (final CheckedSupplier<R> supplier : requireSuppliers(list)) {
+			if (result != null) {
+				failures.add(result.getLeft());
+			}
+			result = either(supplier);
+			if (result.isRight()) {
+				break;
+			}
+		}
+		return new FirstSuccess<>(result, failures);
+	}
+
+	/**
+	 * Races the suppliers concurrently on the executor and returns the first
+	 * supplied value. Once a supplier succeeds, the others are cancelled with an
+	 * interrupt. If every supplier fails, the last exception to be thrown is the
+	 * result. The calling thread blocks until the race is decided. The current
+	 * {@link TryContext} is carried to each supplier, and if it has expired or
+	 * was cancelled, a {@link DeadlineExceededException} is the result without
+	 * starting any supplier.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param executor
+	 *            the executor running the suppliers
+	 * @param suppliers
+	 *            the suppliers to race, which must be safe to run concurrently
+	 * @return the first supplied value or the last exception thrown, with the
+	 *         exceptions thrown before it in the order they were thrown
+	 * @throws IllegalArgumentException
+	 *             if there are no suppliers
+	 */
+	@SafeVarargs
+	public static <R> FirstSuccess<R> firstSuccess(final Executor executor, final CheckedSupplier<R>... suppliers) {
+		Objects.requireNonNull(executor);
+		final List<CheckedSupplier<R>> list = new ArrayList<>(suppliers.length);
+		for (final CheckedSupplier<R> supplier : suppliers) {
+			list.add(supplier);
+		}
+		requireSuppliers(list);
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return new FirstSuccess<>(Either.left(expired), Collections.emptyList());
+		}
+		return Race.first(list, executor);
+	}
+
+	private static <R> List<CheckedSupplier<R>> requireSuppliers(final List<CheckedSupplier<R>> suppliers) {
+		if (suppliers.isEmpty()) {
+			throw new IllegalArgumentException("No suppliers");
+		}
+		suppliers.forEach(Objects::requireNonNull);
+		return suppliers;
+	}
+
+	/**
+	 * Runs a supplier on a dedicated pool of platform threads with
+	 * {@link #either(CheckedSupplier) either}, blocking the calling thread until
+	 * it is done. Use this for bodies known to pin the carrier of a virtual
+	 * thread, such as synchronized blocks around blocking I/O or native calls,
+	 * so that they do not hold up other virtual threads. The pool is created on
+	 * first use with the number of threads given by the system property
+	 * {@code com.github.nullterminated.trylambda.offloadThreads}, which defaults
+	 * to the number of processors. Suppliers waiting for a pool thread are held
+	 * in a queue bounded by the system property
+	 * {@code com.github.nullterminated.trylambda.offloadQueue}, which defaults to
+	 * 1024. When the queue is full, the supplier is not run and the result is a
+	 * {@link java.util.concurrent.RejectedExecutionException
+	 * RejectedExecutionException}, so callers which flood the pool are pushed
+	 * back rather than growing the queue without limit. The current
+	 * {@link TryContext} is carried to the pool thread. If the calling thread is
+	 * interrupted, the supplier is cancelled.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param supplier
+	 *            the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	public static <R> Either<Exception, R> offload(final CheckedSupplier<R> supplier) {
+		Objects.requireNonNull(supplier);
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return Either.left(expired);
+		}
+		final Race<R> race = new Race<>(Offload.POOL);
+		race.start(supplier);
+		try {
+			return race.take().either();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Either.left(e);
+		} finally {
+			race.cancel();
+		}
+	}
+
+	/**
+	 * Throws a failure signal. This method allows an expected failure to be
+	 * raised in expression position, such as in a conditional expression or a
+	 * lambda body.
+	 *
+	 * @param <R>
+	 *            the expected value type
+	 * @param signal
+	 *            the failure signal
+	 * @return never returns normally
+	 * @throws FailureSignal
+	 *             always
+	 */
+	public static <R> R fail(final FailureSignal signal) {
+		throw Objects.requireNonNull(signal);
+	}
+
+	/**
+	 * Calls the three argument form of this method without cancelling after a
+	 * failure.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param suppliers
+	 *            the independent suppliers to run
+	 * @param pool
+	 *            the pool running the suppliers
+	 * @return the results in the order of the suppliers
+	 */
+	public static <R> List<Either<Exception, R>> parallelEither(final List<? extends CheckedSupplier<R>> suppliers,
+			final ForkJoinPool pool) {
+		return parallelEither(suppliers, pool, false);
+	}
+
+	/**
+	 * Runs independent suppliers in parallel on a fork join pool with
+	 * {@link #either(CheckedSupplier) either}. Work is split adaptively
+	 * depending on the load on the pool, and each result is stored at the index
+	 * of its supplier, so the returned list is in order. If cancelOnFailure is
+	 * true, suppliers which have not started when another supplier fails are
+	 * skipped and their result is a left holding a
+	 * {@link java.util.concurrent.CancellationException CancellationException}.
+	 * The calling thread blocks until every supplier is done.
+	 *
+	 * @param <R>
+	 *            the supplied value type
+	 * @param suppliers
+	 *            the independent suppliers to run
+	 * @param pool
+	 *            the pool running the suppliers
+	 * @param cancelOnFailure
+	 *            true to skip suppliers not yet started after a failure
+	 * @return an unmodifiable list of results in the order of the suppliers
+	 */
+	public static <R> List<Either<Exception, R>> parallelEither(final List<? extends CheckedSupplier<R>> suppliers,
+			final ForkJoinPool pool, final boolean cancelOnFailure) {
+		Objects.requireNonNull(pool);
+		return ParallelEither.invoke(suppliers, pool, cancelOnFailure);
+	}
+
+	/**
+	 * Executes a try with resources block inline and returns the result of the
+	 * function directly. Unlike {@link #trys(CheckedSupplier, Function) trys},
+	 * no supplier of the result is allocated. Any exception thrown by the
+	 * supplier, the function or the close of the resource is thrown as a
+	 * {@link WrappedException}.
+	 *
+	 * @param <T>
+	 *            the supplied AutoCloseable type
+	 * @param <R>
+	 *            the result type
+	 * @param supplier
+	 *            the AutoCloseable supplier
+	 * @param function
+	 *            a function that accepts the supplied AutoCloseable type and
+	 *            returns the result
+	 * @return the result of the function
+	 */
+	public static <T extends AutoCloseable, R> R withResource(final CheckedSupplier<T> supplier,
+			final CheckedFunction<? super T, ? extends R> function) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			throw WrappedException.wrap(expired);
+		}
+		try (final T resource = supplier.gets()) {
+			return function.applies(resource);
+		} catch (final Exception e) {
+			throw WrappedException.unchecked(e);
+		}
+	}
+
+	/**
+	 * Executes a try with resources block inline and returns either the result of
+	 * the function or the exception thrown by the supplier, the function or the
+	 * close of the resource. If a {@link WrappedException} is thrown, its cause is
+	 * returned.
+	 *
+	 * @param <T>
+	 *            the supplied AutoCloseable type
+	 * @param <R>
+	 *            the result type
+	 * @param supplier
+	 *            the AutoCloseable supplier
+	 * @param function
+	 *            a function that accepts the supplied AutoCloseable type and
+	 *            returns the result
+	 * @return either an exception or the result of the function
+	 */
+	public static <T extends AutoCloseable, R> Either<Exception, R> withResourceEither(
+			final CheckedSupplier<T> supplier, final CheckedFunction<? super T, ? extends R> function) {
+		final DeadlineExceededException expired = TryContext.check();
+		if (expired != null) {
+			return Either.left(expired);
+		}
+		Either<Exception, R> result;
+		try (final T resource = supplier.gets()) {
+			result = Either.right(function.applies(resource));
+		} catch (final Exception e) {
+			result = left(e);
+		}
+		return result;
+	}
+
+	/**
+	 * A method to use auto closing resources with asynchronous bodies, such as
+	 * work on an {@link java.nio.channels.AsynchronousFileChannel
+	 * AsynchronousFileChannel}. The supplier argument supplies the AutoCloseable
+	 * resource, which is passed to the function argument. The resource is closed
+	 * when the stage returned by the function completes, whether it succeeds or
+	 * fails, or immediately if the function throws. The returned stage never
+	 * completes exceptionally. Instead it holds either the result of the body or
+	 * the exception thrown by the supplier, the function, the body or the close
+	 * of the resource. If the body fails and the close also fails with a
+	 * different exception, the close exception is added to the body exception
+	 * as suppressed. If the function returns a null stage, the resource is closed
+	 * and the result is a {@link NullPointerException}.
+	 *
+	 * @param <T>
+	 *            the supplied AutoCloseable type
+	 * @param <R>
+	 *            the result type
+	 * @param supplier
+	 *            the AutoCloseable supplier
+	 * @param function
+	 *            a function that accepts the supplied AutoCloseable type and
+	 *            returns a stage of the result
+	 * @return a stage of either an exception or the result of the body
+	 */
+	public static <T extends AutoCloseable, R> CompletionStage<Either<Exception, R>> trysAsync(
+			final CheckedSupplier<T> supplier, final Function<? super T, ? extends CompletionStage<R>> function) {
+		final T resource;
+		try {
+			resource = supplier.gets();
+		} catch (final Exception e) {
+			return CompletableFuture.completedFuture(left(e));
+		}
+		final CompletionStage<R> stage;
+		try {
+			stage = function.apply(resource);
+		} catch (final Exception e) {
+			return CompletableFuture.completedFuture(closing(resource, left(e)));
+		}
+		if (stage == null) {
+			return CompletableFuture
+					.completedFuture(closing(resource, Either.left(new NullPointerException("stage is null"))));
+		}
+		return stage.handle((value, error) -> closing(resource, completed(value, error)));
+	}
+
+	/**
+	 * Convert the completion of a stage to an Either. Completion exceptions are
+	 * unwrapped and throwables which are not exceptions are wrapped in an
+	 * {@link java.util.concurrent.ExecutionException ExecutionException}. A null
+	 * value is an {@link IllegalArgumentException}, as it is for
+	 * {@link #either(CheckedSupplier) either}. The stage may complete on any
+	 * thread, so the current {@link TryContext} is not checked.
+	 *
+	 * @param <R>
+	 *            the result type
+	 * @param value
+	 *            the value of the stage
+	 * @param error
+	 *            the exception of the stage, or null
+	 * @return either the exception or the value of the stage
+	 */
+	private static <R> Either<Exception, R> completed(final R value, final Throwable error) {
+		final Throwable cause = error instanceof CompletionException && error.getCause() != null
+				? error.getCause()
+				: error;
+		Either<Exception, R> result;
+		if (cause == null) {
+			result = value == null ? Either.left(rightIsNull()) : Either.right(value);
+		} else if (cause instanceof Exception) {
+			result = left((Exception) cause);
+		} else {
+			result = Either.left(new ExecutionException(cause));
+		}
+		return result;
+	}
+
+	/**
+	 * Close a resource after its body completed.
+	 *
+	 * @param <R>
+	 *            the result type
+	 * @param resource
+	 *            the resource to close, which may be null
+	 * @param result
+	 *            the result of the body
+	 * @return the result of the body, or the close exception if only the close
+	 *         failed
+	 */
+	private static <R> Either<Exception, R> closing(final AutoCloseable resource, final Either<Exception, R> result) {
+		Either<Exception, R> closed = result;
+		try {
+			if (resource != null) {
+				resource.close();
+			}
+		} catch (final Exception e) {
+			if (result.isRight()) {
+				closed = left(e);
+			} else if (result.getLeft() != e) {
+				result.getLeft().addSuppressed(e);
+			}
+		}
+		return closed;
+	}
+
+	/**
+	 * Creates a named call site which records the outcome and latency of each
+	 * call in the {@link TryStats} registered for the name.
+	 *
+	 * <pre>
+	 * Either&lt;Exception, Location&gt; location = Try.named("geo-lookup").either(() -&gt; geo.lookup(ip));
+	 * </pre>
+	 *
+	 * @param name
+	 *            the call site name
+	 * @return a named call site
+	 */
+	public static NamedTry named(final String name) {
+		return new NamedTry(TryStats.of(name));
+	}
+
+	/**
+	 * Holds the offload pool, so it is only created when first used.
+	 */
+	static final class Offload {
+
+		static final ExecutorService POOL = pool(
+				Integer.getInteger("com.github.nullterminated.trylambda.offloadThreads",
+						Runtime.getRuntime().availableProcessors()),
+				Integer.getInteger("com.github.nullterminated.trylambda.offloadQueue", 1024));
+
+		/**
+		 * Create a pool of daemon threads which rejects tasks when its queue is
+		 * full.
+		 *
+		 * @param threads the number of threads
+		 * @param queue   the number of tasks which may wait for a thread
+		 * @return a new pool
+		 */
+		static ExecutorService pool(final int threads, final int queue) {
+			final AtomicInteger count = new AtomicInteger();
+			final int size = Math.max(1, threads);
+			return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(Math.max(1, queue)), runnable -> {
+						final Thread thread = new Thread(runnable, "trylambda-offload-" + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}, new ThreadPoolExecutor.AbortPolicy());
+		}
+	}
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a call through a {@link NamedTry}. The event is
+ * disabled unless a recording enables it, as {@link PinningMonitor} does. This
+ * class is only loaded where the monitor is supported, since the jdk.jfr
+ * module is optional.
+ *
+ * @author Ramsey Gurley
+ */
+@Name(TryCallEvent.NAME)
+@Label("Try Call")
+@Category("trylambda")
+@Description("A call through a named trylambda call site")
+@Enabled(false)
+@StackTrace(false)
+final class TryCallEvent extends Event {
+
+	static final String NAME = "com.github.nullterminated.trylambda.TryCall";
+
+	@Label("Call Site")
+	String callSite;
+
+	@Label("Failed")
+	boolean failed;
+
+	/**
+	 * Make a call through a named call site, committing an event for it if the
+	 * event is enabled.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param named    the call site
+	 * @param supplier the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	static <R> Either<Exception, R> either(final NamedTry named, final Supplier<R> supplier) {
+		final TryCallEvent event = new TryCallEvent();
+		event.begin();
+		final Either<Exception, R> result = named.call(supplier);
+		if (event.shouldCommit()) {
+			event.callSite = named.getName();
+			event.failed = result.isLeft();
+			event.commit();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A deadline and cancellation flag shared by nested calls. While a context is
+ * current, {@link Try#either(CheckedSupplier) either},
+ * {@link Try#trys(CheckedSupplier, java.util.function.Function) trys} and
+ * {@link Try#withResource(CheckedSupplier, CheckedFunction) withResource} check
+ * it on entry and fail fast with a {@link DeadlineExceededException} once the
+ * deadline has passed or the context is cancelled.
+ *
+ * A context created while another is current is its child. It never outlives
+ * its parent, and cancelling the parent cancels the child. The current context
+ * is held in a thread local, so it works with virtual threads. Use
+ * {@link #wrap(CheckedSupplier) wrap} to carry it into tasks submitted to an
+ * executor. Until the first context is created, the check costs a single
+ * volatile read.
+ *
+ * <pre>
+ * TryContext.withTimeout(Duration.ofMillis(250)).either(() -&gt; handle(request));
+ * </pre>
+ *
+ * @author Ramsey Gurley
+ */
+public final class TryContext {
+
+	private static final ThreadLocal<TryContext> CURRENT = new ThreadLocal<>();
+	private static final Duration MAX_TIMEOUT = Duration.ofNanos(Long.MAX_VALUE >> 1);
+	private static volatile boolean used;
+
+	private final TryContext parent;
+	private final boolean hasDeadline;
+	private final long deadlineNanos;
+	private volatile boolean cancelled;
+
+	private TryContext(final TryContext parent, final boolean hasDeadline, final long deadlineNanos) {
+		this.parent = parent;
+		this.hasDeadline = hasDeadline;
+		this.deadlineNanos = deadlineNanos;
+		used = true;
+	}
+
+	/**
+	 * Create a cancellable context without a deadline of its own. It is a child
+	 * of the current context, if any.
+	 *
+	 * @return a new context
+	 */
+	public static TryContext create() {
+		return new TryContext(CURRENT.get(), false, 0L);
+	}
+
+	/**
+	 * Create a context with a deadline. It is a child of the current context, if
+	 * any.
+	 *
+	 * @param timeout the time from now until the deadline
+	 * @return a new context
+	 */
+	public static TryContext withTimeout(final Duration timeout) {
+		final long nanos = timeout.isNegative() ? 0L
+				: timeout.compareTo(MAX_TIMEOUT) > 0 ? MAX_TIMEOUT.toNanos() : timeout.toNanos();
+		return new TryContext(CURRENT.get(), true, System.nanoTime() + nanos);
+	}
+
+	/**
+	 *
+	 * @return the context of the current thread, or null if there is none
+	 */
+	public static TryContext current() {
+		return used ? CURRENT.get() : null;
+	}
+
+	/**
+	 * Check the current context.
+	 *
+	 * @return an exception to fail with, or null if the call may proceed
+	 */
+	static DeadlineExceededException check() {
+		if (!used) {
+			return null;
+		}
+		final TryContext context = CURRENT.get();
+		return context == null ? null : context.failure();
+	}
+
+	private DeadlineExceededException failure() {
+		if (isCancelled()) {
+			return new DeadlineExceededException("Context was cancelled.");
+		}
+		if (isExpired()) {
+			return new DeadlineExceededException("Deadline exceeded.");
+		}
+		return null;
+	}
+
+	/**
+	 * Cancel this context and its children.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 *
+	 * @return true if this context or a parent was cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled || parent != null && parent.isCancelled();
+	}
+
+	/**
+	 *
+	 * @return true if the deadline of this context or a parent has passed
+	 */
+	public boolean isExpired() {
+		return hasDeadline && System.nanoTime() - deadlineNanos >= 0L || parent != null && parent.isExpired();
+	}
+
+	/**
+	 *
+	 * @return the time until the nearest deadline, which is negative once it has
+	 *         passed, or null if there is no deadline
+	 */
+	public Duration getRemaining() {
+		final Duration remaining = hasDeadline ? Duration.ofNanos(deadlineNanos - System.nanoTime()) : null;
+		final Duration parentRemaining = parent == null ? null : parent.getRemaining();
+		if (remaining == null || parentRemaining == null) {
+			return remaining == null ? parentRemaining : remaining;
+		}
+		return remaining.compareTo(parentRemaining) <= 0 ? remaining : parentRemaining;
+	}
+
+	/**
+	 * Run a supplier with this context as the current context, using
+	 * {@link Try#either(CheckedSupplier) either}. If this context has already
+	 * expired or was cancelled, the supplier is not called.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param supplier the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	public <R> Either<Exception, R> either(final CheckedSupplier<R> supplier) {
+		final DeadlineExceededException failure = failure();
+		return failure == null ? Try.either(wrap(supplier)) : Either.left(failure);
+	}
+
+	/**
+	 * Wrap a supplier so that it runs with this context as the current context,
+	 * on whichever thread calls it.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param supplier the value supplier
+	 * @return a supplier running in this context
+	 */
+	public <R> CheckedSupplier<R> wrap(final CheckedSupplier<R> supplier) {
+		Objects.requireNonNull(supplier);
+		return () -> {
+			final TryContext previous = CURRENT.get();
+			CURRENT.set(this);
+			try {
+				return supplier.gets();
+			} finally {
+				restore(previous);
+			}
+		};
+	}
+
+	/**
+	 * Wrap a runnable so that it runs with this context as the current context,
+	 * on whichever thread calls it.
+	 *
+	 * @param runnable the runnable
+	 * @return a runnable running in this context
+	 */
+	public Runnable wrap(final Runnable runnable) {
+		Objects.requireNonNull(runnable);
+		return () -> {
+			final TryContext previous = CURRENT.get();
+			CURRENT.set(this);
+			try {
+				runnable.run();
+			} finally {
+				restore(previous);
+			}
+		};
+	}
+
+	/**
+	 * Run a supplier with {@link Try#either(CheckedSupplier) either} and no
+	 * current context, then restore the context of the calling thread. A call
+	 * whose result is shared by several callers runs this way, so that the
+	 * deadline of whichever caller happens to run it does not fail the others.
+	 *
+	 * @param <R>      the supplied value type
+	 * @param supplier the value supplier
+	 * @return either an exception thrown by the supplier or the supplied value
+	 */
+	static <R> Either<Exception, R> detached(final CheckedSupplier<R> supplier) {
+		final TryContext previous = current();
+		if (previous == null) {
+			return Try.either(supplier);
+		}
+		CURRENT.remove();
+		try {
+			return Try.either(supplier);
+		} finally {
+			CURRENT.set(previous);
+		}
+	}
+
+	private static void restore(final TryContext previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+}
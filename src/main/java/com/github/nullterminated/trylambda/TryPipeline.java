@@ -0,0 +1,483 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs records through a chain of checked function stages concurrently. Stages
+ * are connected by bounded queues and each stage has its own worker threads,
+ * so a slow stage only holds up the records behind it. A stage failure becomes
+ * a left which flows through the remaining stages untouched, and the pipeline
+ * keeps running. An error thrown by a stage becomes a left holding an
+ * {@link ExecutionException}, except a {@link VirtualMachineError}, which
+ * closes the pipeline and is thrown by every later put or take. Results may be taken in the order the records
+ * were put, or as soon as they are ready. An ordered pipeline holds at most
+ * capacity &times; (stages + 1) records which have been put but not taken, so
+ * its reorder buffer stays bounded. Closing the pipeline discards the records
+ * still in it and wakes any thread waiting to put or take, which then throws
+ * a {@link CancellationException}. Per stage metrics show which stage is the
+ * bottleneck.
+ *
+ * <pre>
+ * <code>
+ * try (TryPipeline&lt;String, Record&gt; pipeline = TryPipeline.&lt;String&gt;builder()
+ * 		.stage("decode", this::decode, 2)
+ * 		.stage("validate", this::validate, 1)
+ * 		.stage("write", this::write, 4)
+ * 		.build(1024, true)) {
+ * 	...
+ * }
+ * </code>
+ * </pre>
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ * @author Ramsey Gurley
+ */
+public final class TryPipeline<I, O> implements AutoCloseable {
+
+	/**
+	 * Put into the output queue when the pipeline is closed, to wake a waiting
+	 * consumer.
+	 */
+	private static final Item CLOSED = new Item(-1L, null);
+
+	private final List<Stage> stages;
+	private final BlockingQueue<Item> input;
+	private final BlockingQueue<Item> output;
+	private final boolean ordered;
+	private final int windowSize;
+	private final Semaphore window;
+	private final ReentrantLock putLock = new ReentrantLock();
+	private long sequence;
+	private final ReentrantLock takeLock = new ReentrantLock();
+	private final Condition ready = takeLock.newCondition();
+	private final Map<Long, Item> pending = new HashMap<>();
+	private long next;
+	private boolean draining;
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private volatile VirtualMachineError failure;
+
+	private TryPipeline(final List<StageSpec> specs, final int capacity, final boolean ordered) {
+		this.ordered = ordered;
+		final List<Stage> list = new ArrayList<>(specs.size());
+		BlockingQueue<Item> in = new ArrayBlockingQueue<>(capacity);
+		input = in;
+		for (final StageSpec spec : specs) {
+			final BlockingQueue<Item> out = new ArrayBlockingQueue<>(capacity);
+			list.add(new Stage(this, spec, in, out));
+			in = out;
+		}
+		output = in;
+		windowSize = capacity * (specs.size() + 1);
+		window = ordered ? new Semaphore(windowSize) : null;
+		stages = Collections.unmodifiableList(list);
+		stages.forEach(Stage::start);
+	}
+
+	/**
+	 * Start building a pipeline.
+	 *
+	 * @param <I> the input type
+	 * @return a builder without stages
+	 */
+	public static <I> Builder<I, I> builder() {
+		return new Builder<>(Collections.emptyList());
+	}
+
+	/**
+	 * Put a record into the pipeline, waiting if the first queue is full or, if
+	 * the pipeline is ordered, until earlier results are taken. A record is only
+	 * given a place in the order once it is queued, so an interrupted put does
+	 * not hold up later records.
+	 *
+	 * @param record the record
+	 * @throws InterruptedException  if interrupted while waiting
+	 * @throws CancellationException if the pipeline is closed
+	 * @throws VirtualMachineError   if a stage threw one, which closed the
+	 *                               pipeline
+	 */
+	public void put(final I record) throws InterruptedException {
+		if (ordered) {
+			window.acquire();
+		}
+		boolean queued = false;
+		try {
+			putLock.lockInterruptibly();
+			try {
+				checkOpen();
+				input.put(new Item(sequence, Either.right(record)));
+				sequence++;
+				queued = true;
+			} finally {
+				putLock.unlock();
+			}
+		} finally {
+			if (ordered && !queued) {
+				window.release();
+			}
+		}
+	}
+
+	/**
+	 * Take a result from the pipeline, waiting until one is available. If the
+	 * pipeline is ordered, results are taken in the order the records were put.
+	 *
+	 * @return either the exception thrown by a stage or the output of the last
+	 *         stage
+	 * @throws InterruptedException  if interrupted while waiting
+	 * @throws CancellationException if the pipeline is closed
+	 * @throws VirtualMachineError   if a stage threw one, which closed the
+	 *                               pipeline
+	 */
+	@SuppressWarnings("unchecked")
+	public Either<Exception, O> take() throws InterruptedException {
+		checkOpen();
+		if (!ordered) {
+			final Item item = output.take();
+			if (item == CLOSED) {
+				signalClosed();
+			}
+			checkOpen();
+			return (Either<Exception, O>) item.value;
+		}
+		takeLock.lockInterruptibly();
+		try {
+			while (true) {
+				checkOpen();
+				final Item item = pending.remove(next);
+				if (item != null) {
+					next++;
+					window.release();
+					return (Either<Exception, O>) item.value;
+				}
+				if (draining) {
+					ready.await();
+				} else {
+					drain();
+				}
+			}
+		} finally {
+			takeLock.unlock();
+		}
+	}
+
+	/**
+	 * Move one result from the output queue to the reorder buffer. Only one
+	 * consumer drains at a time, and it releases the take lock while it waits,
+	 * so other consumers can take results which are already buffered.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void drain() throws InterruptedException {
+		draining = true;
+		takeLock.unlock();
+		final Item taken;
+		try {
+			taken = output.take();
+		} finally {
+			takeLock.lock();
+			draining = false;
+			ready.signalAll();
+		}
+		if (taken != CLOSED) {
+			pending.put(taken.sequence, taken);
+		}
+	}
+
+	private void checkOpen() {
+		if (closed.get()) {
+			final VirtualMachineError error = failure;
+			if (error != null) {
+				throw error;
+			}
+			throw new CancellationException("Pipeline is closed.");
+		}
+	}
+
+	private void fail(final VirtualMachineError error) {
+		failure = error;
+		close();
+	}
+
+	private void signalClosed() {
+		while (!output.offer(CLOSED)) {
+			output.poll();
+		}
+	}
+
+	/**
+	 *
+	 * @return an unmodifiable list of the stages, in pipeline order
+	 */
+	public List<Stage> getStages() {
+		return stages;
+	}
+
+	/**
+	 * Stop the workers of every stage. Records still in the pipeline are
+	 * discarded, and threads waiting to put or take are woken and throw a
+	 * {@link CancellationException}.
+	 */
+	@Override
+	public void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		stages.forEach(Stage::stop);
+		input.clear();
+		if (ordered) {
+			window.release(windowSize);
+		}
+		signalClosed();
+		if (ordered) {
+			takeLock.lock();
+			try {
+				ready.signalAll();
+			} finally {
+				takeLock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TryPipeline{" + "stages=" + stages + ", ordered=" + ordered + '}';
+	}
+
+	/**
+	 * Builds a {@link TryPipeline}. Builders are immutable, so each stage returns
+	 * a new builder.
+	 *
+	 * @param <I> the input type
+	 * @param <O> the output type of the last stage
+	 */
+	public static final class Builder<I, O> {
+
+		private final List<StageSpec> specs;
+
+		private Builder(final List<StageSpec> specs) {
+			this.specs = specs;
+		}
+
+		/**
+		 * Add a stage to the end of the pipeline.
+		 *
+		 * @param <R>      the stage output type
+		 * @param name     the stage name
+		 * @param function the stage function
+		 * @param threads  the number of worker threads for the stage
+		 * @return a builder with the stage added
+		 * @throws IllegalArgumentException if threads is not positive
+		 */
+		@SuppressWarnings("unchecked")
+		public <R> Builder<I, R> stage(final String name, final CheckedFunction<? super O, ? extends R> function,
+				final int threads) {
+			if (threads < 1) {
+				throw new IllegalArgumentException("threads must be positive: " + threads);
+			}
+			final List<StageSpec> list = new ArrayList<>(specs);
+			list.add(new StageSpec(Objects.requireNonNull(name),
+					(CheckedFunction<Object, Object>) Objects.requireNonNull(function), threads));
+			return new Builder<>(list);
+		}
+
+		/**
+		 * Start a pipeline running the stages.
+		 *
+		 * @param capacity the capacity of each queue between stages
+		 * @param ordered  true to take results in the order records were put
+		 * @return a running pipeline, which should be closed when done
+		 * @throws IllegalArgumentException if there are no stages or capacity is
+		 *                                  not positive
+		 */
+		public TryPipeline<I, O> build(final int capacity, final boolean ordered) {
+			if (specs.isEmpty()) {
+				throw new IllegalArgumentException("No stages");
+			}
+			if (capacity < 1) {
+				throw new IllegalArgumentException("capacity must be positive: " + capacity);
+			}
+			return new TryPipeline<>(specs, capacity, ordered);
+		}
+	}
+
+	/**
+	 * A running stage of a {@link TryPipeline} and its metrics.
+	 */
+	public static final class Stage {
+
+		private final TryPipeline<?, ?> pipeline;
+		private final StageSpec spec;
+		private final BlockingQueue<Item> in;
+		private final BlockingQueue<Item> out;
+		private final List<Thread> workers;
+		private final LongAdder processed = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final long started = System.nanoTime();
+		private volatile boolean stopped;
+
+		private Stage(final TryPipeline<?, ?> pipeline, final StageSpec spec, final BlockingQueue<Item> in,
+				final BlockingQueue<Item> out) {
+			this.pipeline = pipeline;
+			this.spec = spec;
+			this.in = in;
+			this.out = out;
+			final List<Thread> list = new ArrayList<>(spec.threads);
+			for (int i = 0; i < spec.threads; i++) {
+				final Thread worker = new Thread(this::work, "trylambda-pipeline-" + spec.name + "-" + i);
+				worker.setDaemon(true);
+				list.add(worker);
+			}
+			workers = list;
+		}
+
+		private void start() {
+			workers.forEach(Thread::start);
+		}
+
+		private void stop() {
+			stopped = true;
+			workers.forEach(Thread::interrupt);
+		}
+
+		private void work() {
+			try {
+				while (!stopped) {
+					final Item item = in.take();
+					if (item.value.isRight()) {
+						item.value = apply(item.value.getRight());
+						processed.increment();
+						if (item.value.isLeft()) {
+							failures.increment();
+						}
+					}
+					out.put(item);
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (final VirtualMachineError e) {
+				pipeline.fail(e);
+				throw e;
+			}
+		}
+
+		private Either<Exception, Object> apply(final Object value) {
+			try {
+				return Try.either(() -> spec.function.applies(value));
+			} catch (final VirtualMachineError e) {
+				throw e;
+			} catch (final Error e) {
+				return Either.left(new ExecutionException(e));
+			}
+		}
+
+		/**
+		 *
+		 * @return the stage name
+		 */
+		public String getName() {
+			return spec.name;
+		}
+
+		/**
+		 *
+		 * @return the number of worker threads
+		 */
+		public int getThreads() {
+			return spec.threads;
+		}
+
+		/**
+		 *
+		 * @return the number of records this stage has applied its function to
+		 */
+		public long getProcessed() {
+			return processed.sum();
+		}
+
+		/**
+		 *
+		 * @return the number of records this stage has failed
+		 */
+		public long getFailures() {
+			return failures.sum();
+		}
+
+		/**
+		 *
+		 * @return the number of records waiting for this stage
+		 */
+		public int getQueueDepth() {
+			return in.size();
+		}
+
+		/**
+		 *
+		 * @return the records processed per second since the pipeline started
+		 */
+		public double getThroughput() {
+			final long elapsed = System.nanoTime() - started;
+			return elapsed <= 0L ? 0.0 : processed.sum() * 1e9 / elapsed;
+		}
+
+		@Override
+		public String toString() {
+			return "Stage{" + "name=" + getName() + ", threads=" + getThreads() + ", processed=" + getProcessed()
+					+ ", failures=" + getFailures() + ", queueDepth=" + getQueueDepth() + '}';
+		}
+	}
+
+	private static final class StageSpec {
+
+		final String name;
+		final CheckedFunction<Object, Object> function;
+		final int threads;
+
+		StageSpec(final String name, final CheckedFunction<Object, Object> function, final int threads) {
+			this.name = name;
+			this.function = function;
+			this.threads = threads;
+		}
+	}
+
+	private static final class Item {
+
+		final long sequence;
+		Either<Exception, Object> value;
+
+		Item(final long sequence, final Either<Exception, Object> value) {
+			this.sequence = sequence;
+			this.value = value;
+		}
+	}
+}
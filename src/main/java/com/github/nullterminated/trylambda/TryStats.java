@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * An opt in registry of call statistics for named calls made with
+ * {@link Try#named(String) named}. Each name records success and failure
+ * counts, failure counts for each exception class and a latency histogram.
+ * Recording uses striped counters which are only merged when a
+ * {@link Snapshot snapshot} is read.
+ *
+ * Statistics are never removed once a name is registered. Each name holds a
+ * latency histogram of about 9KB for each of up to four stripes, so names
+ * should come from a small fixed set, such as constants, and never from
+ * request data.
+ *
+ * @author Ramsey Gurley
+ */
+public final class TryStats {
+
+	/**
+	 * The JMX object name used by {@link #registerMBean() registerMBean}.
+	 */
+	public static final String OBJECT_NAME = "com.github.nullterminated.trylambda:type=TryStats";
+
+	/**
+	 * The maximum number of latency histogram stripes for each name.
+	 */
+	static final int MAX_STRIPES = 4;
+
+	private static final int STRIPES = Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors());
+	private static final ConcurrentMap<String, TryStats> REGISTRY = new ConcurrentHashMap<>();
+
+	private final String name;
+	private final LongAdder successes = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final ConcurrentMap<Class<?>, LongAdder> failuresByType = new ConcurrentHashMap<>();
+	private final LatencyHistogram latencies = new LatencyHistogram(STRIPES);
+
+	private TryStats(final String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Get the statistics for a name, creating them if needed.
+	 *
+	 * @param name the call site name
+	 * @return the statistics for the name
+	 */
+	public static TryStats of(final String name) {
+		return REGISTRY.computeIfAbsent(Objects.requireNonNull(name), TryStats::new);
+	}
+
+	/**
+	 *
+	 * @return snapshots of all registered statistics, sorted by name
+	 */
+	public static List<Snapshot> snapshots() {
+		final List<Snapshot> snapshots = new ArrayList<>();
+		new TreeMap<>(REGISTRY).values().forEach(stats -> snapshots.add(stats.snapshot()));
+		return Collections.unmodifiableList(snapshots);
+	}
+
+	/**
+	 * Reset all registered statistics to zero. The names stay registered, so
+	 * call sites created before the reset keep recording into the registry.
+	 */
+	public static void clear() {
+		REGISTRY.values().forEach(TryStats::reset);
+	}
+
+	/**
+	 *
+	 * @return a plain text dump of all registered statistics, one name per line
+	 */
+	public static String dump() {
+		final StringBuilder text = new StringBuilder();
+		snapshots().forEach(snapshot -> text.append(snapshot).append('\n'));
+		return text.toString();
+	}
+
+	/**
+	 *
+	 * @return a JSON array of all registered statistics
+	 */
+	public static String toJson() {
+		final StringBuilder json = new StringBuilder("[");
+		snapshots().forEach(snapshot -> json.append(json.length() > 1 ? "," : "").append(snapshot.toJson()));
+		return json.append(']').toString();
+	}
+
+	/**
+	 * Register a {@link TryStatsMXBean} with the platform MBean server under
+	 * {@link #OBJECT_NAME}. The jar includes the reflection metadata the bean
+	 * needs in a GraalVM native image. To reach the bean from outside the
+	 * process, build the image with {@code --enable-monitoring=jmxserver}.
+	 *
+	 * @return the registered object name
+	 * @throws JMException if registration fails, such as when already registered
+	 */
+	public static ObjectName registerMBean() throws JMException {
+		final ObjectName objectName = new ObjectName(OBJECT_NAME);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(), objectName);
+		return objectName;
+	}
+
+	/**
+	 *
+	 * @return the call site name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Record the result of a call.
+	 *
+	 * @param result the result of the call
+	 * @param nanos  the latency of the call
+	 */
+	void record(final Either<Exception, ?> result, final long nanos) {
+		if (result.isLeft()) {
+			failures.increment();
+			final Class<?> type = result.getLeft().getClass();
+			LongAdder count = failuresByType.get(type);
+			if (count == null) {
+				count = failuresByType.computeIfAbsent(type, t -> new LongAdder());
+			}
+			count.increment();
+		} else {
+			successes.increment();
+		}
+		latencies.record(nanos);
+	}
+
+	private void reset() {
+		successes.reset();
+		failures.reset();
+		failuresByType.clear();
+		latencies.reset();
+	}
+
+	/**
+	 *
+	 * @return a point in time copy of these statistics
+	 */
+	public Snapshot snapshot() {
+		final Map<String, Long> byType = new TreeMap<>();
+		failuresByType.forEach((type, count) -> byType.put(type.getName(), count.sum()));
+		return new Snapshot(name, successes.sum(), failures.sum(), byType, latencies);
+	}
+
+	/**
+	 * An immutable copy of the statistics for one name. Latencies are reported in
+	 * nanoseconds.
+	 */
+	public static final class Snapshot {
+
+		private final String name;
+		private final long successes;
+		private final long failures;
+		private final Map<String, Long> failuresByType;
+		private final long p50;
+		private final long p90;
+		private final long p99;
+		private final long max;
+
+		Snapshot(final String name, final long successes, final long failures, final Map<String, Long> failuresByType,
+				final LatencyHistogram latencies) {
+			this.name = name;
+			this.successes = successes;
+			this.failures = failures;
+			this.failuresByType = Collections.unmodifiableMap(failuresByType);
+			this.p50 = latencies.percentile(50.0);
+			this.p90 = latencies.percentile(90.0);
+			this.p99 = latencies.percentile(99.0);
+			this.max = latencies.percentile(100.0);
+		}
+
+		/**
+		 *
+		 * @return the call site name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 *
+		 * @return the number of successful calls
+		 */
+		public long getSuccesses() {
+			return successes;
+		}
+
+		/**
+		 *
+		 * @return the number of failed calls
+		 */
+		public long getFailures() {
+			return failures;
+		}
+
+		/**
+		 *
+		 * @return failure counts keyed by exception class name
+		 */
+		public Map<String, Long> getFailuresByType() {
+			return failuresByType;
+		}
+
+		/**
+		 *
+		 * @return the median latency
+		 */
+		public long getP50() {
+			return p50;
+		}
+
+		/**
+		 *
+		 * @return the 90th percentile latency
+		 */
+		public long getP90() {
+			return p90;
+		}
+
+		/**
+		 *
+		 * @return the 99th percentile latency
+		 */
+		public long getP99() {
+			return p99;
+		}
+
+		/**
+		 *
+		 * @return the maximum latency, within the histogram precision
+		 */
+		public long getMax() {
+			return max;
+		}
+
+		/**
+		 *
+		 * @return these statistics as a JSON object
+		 */
+		public String toJson() {
+			final StringBuilder json = new StringBuilder("{\"name\":").append(quote(name))
+					.append(",\"successes\":").append(successes)
+					.append(",\"failures\":").append(failures)
+					.append(",\"failuresByType\":{");
+			failuresByType.forEach((type, count) -> json.append(json.charAt(json.length() - 1) == '{' ? "" : ",")
+					.append(quote(type)).append(':').append(count));
+			return json.append("},\"p50\":").append(p50)
+					.append(",\"p90\":").append(p90)
+					.append(",\"p99\":").append(p99)
+					.append(",\"max\":").append(max)
+					.append('}').toString();
+		}
+
+		@Override
+		public String toString() {
+			return name + " successes=" + successes + " failures=" + failures + " failuresByType=" + failuresByType
+					+ " p50=" + p50 + "ns p90=" + p90 + "ns p99=" + p99 + "ns max=" + max + "ns";
+		}
+
+		private static String quote(final String value) {
+			final StringBuilder quoted = new StringBuilder("\"");
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				if (c == '"' || c == '\\') {
+					quoted.append('\\').append(c);
+				} else if (c < ' ') {
+					quoted.append(String.format("\\u%04x", (int) c));
+				} else {
+					quoted.append(c);
+				}
+			}
+			return quoted.append('"').toString();
+		}
+	}
+
+	private static final class MXBean implements TryStatsMXBean {
+
+		@Override
+		public String[] getNames() {
+			return new TreeMap<>(REGISTRY).keySet().toArray(new String[0]);
+		}
+
+		@Override
+		public String getDump() {
+			return dump();
+		}
+
+		@Override
+		public String getJson() {
+			return toJson();
+		}
+
+		@Override
+		public long getSuccesses(final String name) {
+			final TryStats stats = REGISTRY.get(name);
+			return stats == null ? 0L : stats.successes.sum();
+		}
+
+		@Override
+		public long getFailures(final String name) {
+			final TryStats stats = REGISTRY.get(name);
+			return stats == null ? 0L : stats.failures.sum();
+		}
+
+		@Override
+		public void clear() {
+			TryStats.clear();
+		}
+	}
+}
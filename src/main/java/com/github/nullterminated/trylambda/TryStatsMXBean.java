@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+/**
+ * The management interface for {@link TryStats}, registered with
+ * {@link TryStats#registerMBean() registerMBean}.
+ *
+ * @author Ramsey Gurley
+ */
+public interface TryStatsMXBean {
+
+	/**
+	 *
+	 * @return the registered call site names
+	 */
+	String[] getNames();
+
+	/**
+	 *
+	 * @return a plain text dump of all registered statistics
+	 */
+	String getDump();
+
+	/**
+	 *
+	 * @return a JSON array of all registered statistics
+	 */
+	String getJson();
+
+	/**
+	 *
+	 * @param name the call site name
+	 * @return the number of successful calls, or zero for an unknown name
+	 */
+	long getSuccesses(String name);
+
+	/**
+	 *
+	 * @param name the call site name
+	 * @return the number of failed calls, or zero for an unknown name
+	 */
+	long getFailures(String name);
+
+	/**
+	 * Reset all registered statistics to zero.
+	 */
+	void clear();
+}
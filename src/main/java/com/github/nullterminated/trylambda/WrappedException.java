@@ -32,6 +32,11 @@ public final class WrappedException extends RuntimeException {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Whether a stack trace was captured when this exception was created.
+	 */
+	private final boolean stackTraceCaptured;
+
 	/**
 	 * Private constructor to prevent multiply nested WrappedExceptions.
 	 *
@@ -39,19 +44,29 @@ public final class WrappedException extends RuntimeException {
 	 *            the exception message
 	 * @param cause
 	 *            the original exception
+	 * @param enableSuppression
+	 *            whether suppressed exceptions may be added
+	 * @param writableStackTrace
+	 *            whether the stack trace is captured
 	 */
-	private WrappedException(String message, Exception cause) {
-		super(message, cause);
+	private WrappedException(String message, Exception cause, boolean enableSuppression,
+			boolean writableStackTrace) {
+		super(message, cause, enableSuppression, writableStackTrace);
+		this.stackTraceCaptured = writableStackTrace;
 	}
 
 	/**
-	 * Private constructor to prevent multiply nested WrappedExceptions.
+	 * Private constructor to prevent multiply nested WrappedExceptions. The
+	 * current {@link StackTracePolicy} decides whether a stack trace is
+	 * captured.
 	 *
+	 * @param message
+	 *            the exception message
 	 * @param cause
 	 *            the original exception
 	 */
-	private WrappedException(Exception cause) {
-		super(cause);
+	private WrappedException(String message, Exception cause) {
+		this(message, cause, true, StackTracePolicy.get().capture(cause.getClass()));
 	}
 
 	/**
@@ -64,10 +79,33 @@ public final class WrappedException extends RuntimeException {
 		return (Exception) super.getCause();
 	}
 
+	/**
+	 * Whether a stack trace was captured for this exception. When the
+	 * {@link StackTracePolicy} skips the stack trace, the stack trace is empty
+	 * and {@link #toString() toString} says so.
+	 *
+	 * @return true if a stack trace was captured
+	 */
+	public boolean isStackTraceCaptured() {
+		return stackTraceCaptured;
+	}
+
+	/**
+	 * Overridden to mark exceptions created without a stack trace, so that logs
+	 * show why the stack trace is missing.
+	 *
+	 * @return a short description of this exception
+	 */
+	@Override
+	public String toString() {
+		return stackTraceCaptured ? super.toString() : super.toString() + " [stack trace not captured]";
+	}
+
 	/**
 	 * Factory method to generate a WrappedException. If the Exception argument is
 	 * itself a WrappedException, the cause of that argument is rewrapped with the
-	 * new message argument.
+	 * new message argument. A {@link FailureSignal} is wrapped without capturing a
+	 * stack trace.
 	 *
 	 * @param message
 	 *            the exception message
@@ -78,6 +116,8 @@ public final class WrappedException extends RuntimeException {
 	public static WrappedException wrap(String message, Exception e) {
 		if (e instanceof WrappedException) {
 			return wrap(message, ((WrappedException) e).getCause());
+		} else if (e instanceof FailureSignal) {
+			return new WrappedException(message, e, true, false);
 		} else {
 			return new WrappedException(message, Objects.requireNonNull(e));
 		}
@@ -85,17 +125,49 @@ public final class WrappedException extends RuntimeException {
 
 	/**
 	 * Factory method to generate a WrappedException. If the Exception argument is
-	 * itself a WrappedException, the cause of that argument is rewrapped.
+	 * itself a WrappedException, it is returned as is. A
+	 * {@link FailureSignal} returns the immutable WrappedException cached by the
+	 * signal.
 	 *
 	 * @param e
 	 *            the original exception
-	 * @return a new WrappedException
+	 * @return the argument if it is a WrappedException, the cached
+	 *         WrappedException of a FailureSignal, or else a new WrappedException
 	 */
 	public static WrappedException wrap(Exception e) {
 		if (e instanceof WrappedException) {
-			return wrap(e.getMessage(), ((WrappedException) e).getCause());
+			return (WrappedException) e;
+		} else if (e instanceof FailureSignal) {
+			return ((FailureSignal) e).wrapped();
 		} else {
-			return new WrappedException(Objects.requireNonNull(e));
+			return new WrappedException(Objects.requireNonNull(e).toString(), e);
+		}
+	}
+
+	/**
+	 * Factory method for the immutable, stackless WrappedException cached by a
+	 * failure signal.
+	 *
+	 * @param signal
+	 *            the failure signal
+	 * @return a new WrappedException
+	 */
+	static WrappedException stackless(FailureSignal signal) {
+		return new WrappedException(signal.toString(), signal, false, false);
+	}
+
+	/**
+	 * The failure handler shared by the checked interfaces. WrappedExceptions and
+	 * failure signals are returned as is, anything else is wrapped.
+	 *
+	 * @param e
+	 *            the caught exception
+	 * @return an unchecked exception to throw
+	 */
+	static RuntimeException unchecked(Exception e) {
+		if (e instanceof WrappedException || e instanceof FailureSignal) {
+			return (RuntimeException) e;
 		}
+		return new WrappedException(Objects.requireNonNull(e).toString(), e);
 	}
 }
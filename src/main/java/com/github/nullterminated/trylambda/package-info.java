@@ -46,10 +46,15 @@
  * <p>
  * The first strategy for dealing with checked exceptions in lambda expressions
  * is to wrap them in a runtime exception and rethrow. trylambda extends the
- * standard {@link java.util.function.Consumer Consumer},
- * {@link java.util.function.Function Function}, and
- * {@link java.util.function.Supplier Supplier} interfaces to provide versions
- * of each that throw checked exceptions. This is done by overriding their
+ * standard {@link java.util.function.BiConsumer BiConsumer},
+ * {@link java.util.function.BiFunction BiFunction},
+ * {@link java.util.function.Consumer Consumer},
+ * {@link java.util.function.Function Function},
+ * {@link java.util.function.Predicate Predicate},
+ * {@link java.lang.Runnable Runnable},
+ * {@link java.util.function.Supplier Supplier}, and
+ * {@link java.util.function.UnaryOperator UnaryOperator} interfaces to provide
+ * versions of each that throw checked exceptions. This is done by overriding their
  * functional interface with a default implementation which wraps any exception
  * thrown in a {@link com.github.nullterminated.trylambda.WrappedException
  * WrappedException}.
@@ -15,5 +15,8 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 module com.github.nullterminated.trylambda {
+	requires transitive java.management;
+	requires static jdk.jfr;
+
 	exports com.github.nullterminated.trylambda;
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Attributes virtual thread pinning to named call sites. While running, the
+ * monitor streams {@code jdk.VirtualThreadPinned} flight recorder events and
+ * counts each one against the {@link NamedTry} call running on the pinned
+ * thread at the time, or {@link #UNNAMED} when there was none. Pinning in a
+ * named call which outlasts the stream flush interval of about a second may
+ * be counted as unnamed. Use
+ * {@link Try#offload(CheckedSupplier) offload} for call sites found to pin.
+ * Monitoring needs event streaming and the pinning event, so
+ * {@link #isSupported() isSupported} returns false unless the runtime has
+ * virtual threads and the flight recorder, including the optional jdk.jfr
+ * module, is available.
+ *
+ * @author Ramsey Gurley
+ */
+public final class PinningMonitor implements AutoCloseable {
+
+	/**
+	 * The call site of pinning outside any named call.
+	 */
+	public static final String UNNAMED = "<unnamed>";
+
+	private static final String PINNED = "jdk.VirtualThreadPinned";
+
+	private final RecordingStream stream = new RecordingStream();
+	private final PinningAttribution attribution = new PinningAttribution();
+
+	private PinningMonitor(final Duration threshold) {
+		stream.enable(PINNED).withThreshold(threshold);
+		stream.enable(TryCallEvent.NAME).withThreshold(Duration.ZERO);
+		stream.onEvent(PINNED, this::onPinned);
+		stream.onEvent(TryCallEvent.NAME, this::onCall);
+		stream.onFlush(() -> attribution.flush(Instant.now()));
+		stream.startAsync();
+	}
+
+	/**
+	 *
+	 * @return true if pinning can be monitored on this runtime
+	 */
+	public static boolean isSupported() {
+		return Support.SUPPORTED;
+	}
+
+	/**
+	 * Start monitoring pinning which lasts at least 20 milliseconds, the
+	 * default threshold of the pinning event.
+	 *
+	 * @return a running monitor, which should be closed when done
+	 * @throws UnsupportedOperationException if monitoring is not supported
+	 */
+	public static PinningMonitor start() {
+		return start(Duration.ofMillis(20L));
+	}
+
+	/**
+	 * Start monitoring pinning which lasts at least the threshold.
+	 *
+	 * @param threshold the shortest pinning to count
+	 * @return a running monitor, which should be closed when done
+	 * @throws UnsupportedOperationException if monitoring is not supported
+	 */
+	public static PinningMonitor start(final Duration threshold) {
+		Objects.requireNonNull(threshold);
+		if (!isSupported()) {
+			throw new UnsupportedOperationException("Pinning detection requires virtual threads and JFR.");
+		}
+		return new PinningMonitor(threshold);
+	}
+
+	/**
+	 *
+	 * @return a snapshot of the number of pinning events by call site name
+	 */
+	public Map<String, Long> getPinned() {
+		return attribution.snapshot();
+	}
+
+	/**
+	 * Stop monitoring.
+	 */
+	@Override
+	public void close() {
+		stream.close();
+	}
+
+	private void onPinned(final RecordedEvent event) {
+		final RecordedThread thread = event.getThread();
+		attribution.pinned(thread == null ? null : thread.getJavaThreadId(), event.getStartTime());
+	}
+
+	private void onCall(final RecordedEvent event) {
+		final RecordedThread thread = event.getThread();
+		if (thread != null) {
+			attribution.call(thread.getJavaThreadId(), event.getString("callSite"), event.getStartTime(),
+					event.getEndTime());
+		}
+	}
+
+	/**
+	 * Checks once whether the jdk.jfr module is present and the flight recorder
+	 * knows the pinning event, which only exists on runtimes with virtual
+	 * threads.
+	 */
+	private static final class Support {
+
+		static final boolean SUPPORTED = supported();
+
+		private static boolean supported() {
+			if (ModuleLayer.boot().findModule("jdk.jfr").isEmpty()) {
+				return false;
+			}
+			try {
+				return FlightRecorder.isAvailable() && FlightRecorder.getFlightRecorder().getEventTypes().stream()
+						.anyMatch(type -> PINNED.equals(type.getName()));
+			} catch (final IllegalStateException | SecurityException e) {
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+@Tag("stress")
+public class BatcherStressTest {
+
+	private static final int MAX_BATCH = 64;
+
+	public BatcherStressTest() {
+	}
+
+	/**
+	 * Test of load method from many threads at once, of class Batcher. Every
+	 * load completes with its own value and no batch exceeds the maximum.
+	 */
+	@Test
+	public void testLoad() throws Exception {
+		final LongAdder keys = new LongAdder();
+		final AtomicInteger largest = new AtomicInteger();
+		final Batcher<Integer, Integer> batcher = Batcher.of(list -> {
+			keys.add(list.size());
+			largest.accumulateAndGet(list.size(), Math::max);
+			return list.stream().collect(Collectors.toMap(Function.identity(), k -> -k));
+		}, MAX_BATCH, Duration.ofMillis(1L));
+		final int perThread = Stress.ITERATIONS / Stress.THREADS;
+		Stress.run(Stress.THREADS, thread -> {
+			final List<CompletableFuture<Either<Exception, Integer>>> futures = new ArrayList<>(perThread);
+			for (int i = 0; i < perThread; i++) {
+				futures.add(batcher.load(thread * perThread + i));
+			}
+			for (int i = 0; i < perThread; i++) {
+				assertEquals(Either.right(-(thread * perThread + i)), futures.get(i).get());
+			}
+		});
+		assertEquals((long) perThread * Stress.THREADS, batcher.getLoads());
+		assertEquals((long) perThread * Stress.THREADS, keys.sum());
+		assertTrue(largest.get() <= MAX_BATCH);
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class BatcherTest {
+
+	public BatcherTest() {
+	}
+
+	private static Map<Integer, String> lookup(final List<Integer> keys) {
+		return keys.stream().filter(k -> k >= 0).collect(Collectors.toMap(Function.identity(), k -> "v" + k));
+	}
+
+	/**
+	 * Test of load method, of class Batcher.
+	 */
+	@Test
+	public void testLoad() throws Exception {
+		final List<List<Integer>> calls = Collections.synchronizedList(new ArrayList<>());
+		final Batcher<Integer, String> batcher = Batcher.of(keys -> {
+			calls.add(keys);
+			return lookup(keys);
+		}, 3, Duration.ofSeconds(10), Runnable::run);
+		final CompletableFuture<Either<Exception, String>> one = batcher.load(1);
+		final CompletableFuture<Either<Exception, String>> again = batcher.load(1);
+		assertFalse(one.isDone());
+		final CompletableFuture<Either<Exception, String>> missing = batcher.load(-1);
+		assertEquals(Either.right("v1"), one.get());
+		assertEquals(Either.right("v1"), again.get());
+		assertTrue(missing.get().getLeft() instanceof NoSuchElementException);
+		assertEquals(Collections.singletonList(Arrays.asList(1, -1)), calls);
+		assertEquals(3L, batcher.getLoads());
+		assertEquals(1L, batcher.getBatches());
+		assertEquals("Batcher{maxBatch=3, loads=3, batches=1}", batcher.toString());
+	}
+
+	/**
+	 * Test of load method when the delay expires, of class Batcher.
+	 */
+	@Test
+	public void testDelay() throws Exception {
+		final Batcher<Integer, String> batcher = Batcher.of(BatcherTest::lookup, 100, Duration.ofMillis(10));
+		final List<CompletableFuture<Either<Exception, String>>> futures = IntStream.range(0, 250)
+				.mapToObj(batcher::load)
+				.collect(Collectors.toList());
+		for (int i = 0; i < futures.size(); i++) {
+			assertEquals(Either.right("v" + i), futures.get(i).get());
+		}
+		assertEquals(250L, batcher.getLoads());
+		assertTrue(batcher.getBatches() >= 3L);
+		assertThrows(IllegalArgumentException.class, () -> Batcher.of(BatcherTest::lookup, 0, Duration.ZERO));
+		assertThrows(IllegalArgumentException.class,
+				() -> Batcher.of(BatcherTest::lookup, 1, Duration.ofMillis(-1)));
+	}
+
+	/**
+	 * Test of load method with a failing batch function, of class Batcher.
+	 */
+	@Test
+	public void testFailure() throws Exception {
+		final IOException ex = new IOException("expected");
+		final Batcher<Integer, String> failing = Batcher.of(keys -> {
+			throw ex;
+		}, 2, Duration.ZERO, Runnable::run);
+		final CompletableFuture<Either<Exception, String>> one = failing.load(1);
+		assertEquals(Either.left(ex), failing.load(2).get());
+		assertEquals(Either.left(ex), one.get());
+
+		final Batcher<Integer, String> nulls = Batcher.of(keys -> null, 1, Duration.ZERO, Runnable::run);
+		assertTrue(nulls.load(1).get().getLeft() instanceof NullPointerException);
+
+		final Batcher<Integer, String> partial = Batcher.of(keys -> new HashMap<Integer, String>(lookup(keys)) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String get(final Object key) {
+				if (key.equals(2)) {
+					throw new IllegalStateException("expected");
+				}
+				return key.equals(3) ? null : super.get(key);
+			}
+		}, 3, Duration.ofSeconds(10), Runnable::run);
+		final CompletableFuture<Either<Exception, String>> two = partial.load(2);
+		final CompletableFuture<Either<Exception, String>> three = partial.load(3);
+		assertEquals(Either.right("v4"), partial.load(4).get());
+		assertTrue(two.get().getLeft() instanceof IllegalStateException);
+		assertTrue(three.get().getLeft() instanceof NoSuchElementException);
+
+		final Batcher<Integer, String> erroring = Batcher.of(keys -> {
+			throw new AssertionError("expected");
+		}, 2, Duration.ofSeconds(10), Runnable::run);
+		final CompletableFuture<Either<Exception, String>> pending = erroring.load(1);
+		assertThrows(AssertionError.class, () -> erroring.load(2));
+		assertTrue(assertThrows(ExecutionException.class, pending::get).getCause() instanceof AssertionError);
+
+		final Batcher<Integer, String> rejecting = Batcher.of(BatcherTest::lookup, 1, Duration.ZERO, task -> {
+			throw new RejectedExecutionException("expected");
+		});
+		assertTrue(rejecting.load(1).get().getLeft() instanceof RejectedExecutionException);
+	}
+
+	/**
+	 * Test of asFunction method, of class Batcher.
+	 */
+	@Test
+	public void testAsFunction() throws Exception {
+		final CheckedFunction<Integer, String> function = Batcher.of(BatcherTest::lookup, 1, Duration.ZERO,
+				Runnable::run).asFunction();
+		assertEquals("v1", function.applies(1));
+		assertThrows(NoSuchElementException.class, () -> function.applies(-1));
+
+		final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+		final CountDownLatch died = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+			final Thread thread = new Thread(runnable);
+			thread.setUncaughtExceptionHandler((t, e) -> {
+				uncaught.set(e);
+				died.countDown();
+			});
+			return thread;
+		});
+		try {
+			final CheckedFunction<Integer, String> erroring = Batcher.<Integer, String>of(keys -> {
+				throw new AssertionError("expected");
+			}, 2, Duration.ZERO, executor).asFunction();
+			assertThrows(AssertionError.class, () -> erroring.applies(1));
+			assertTrue(died.await(5, TimeUnit.SECONDS));
+			assertTrue(uncaught.get() instanceof AssertionError);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class CheckedBiConsumerTest {
+
+	public CheckedBiConsumerTest() {
+	}
+
+	private static class Holder {
+		int value = 0;
+	}
+
+	/**
+	 * Test of accept method, of class CheckedBiConsumer.
+	 */
+	@Test
+	public void testAccept() {
+		final Holder holds = new Holder();
+		final Exception ex = new Exception();
+		final CheckedBiConsumer<Integer, Integer> cons1 = (i, j) -> {
+			holds.value = i + j;
+		};
+		final CheckedBiConsumer<Integer, Integer> cons2 = (i, j) -> {
+			throw ex;
+		};
+		cons1.accept(1, 2);
+		assertEquals(3, holds.value);
+		assertSame(ex, assertThrows(WrappedException.class, () -> cons2.accept(1, 2)).getCause());
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class CheckedBiFunctionTest {
+
+	public CheckedBiFunctionTest() {
+	}
+
+	/**
+	 * Test of apply method, of class CheckedBiFunction.
+	 */
+	@Test
+	public void testApply() {
+		final Exception ex = new Exception();
+		final WrappedException wrap = WrappedException.wrap(ex);
+		final CheckedBiFunction<Integer, Integer, Integer> fun1 = (i, j) -> i + j;
+		final CheckedBiFunction<Integer, Integer, Integer> fun2 = (i, j) -> {
+			throw ex;
+		};
+		final CheckedBiFunction<Integer, Integer, Integer> fun3 = (i, j) -> {
+			throw wrap;
+		};
+		assertEquals(Integer.valueOf(3), fun1.apply(1, 2));
+		assertSame(ex, assertThrows(WrappedException.class, () -> fun2.apply(1, 2)).getCause());
+		assertSame(wrap, assertThrows(WrappedException.class, () -> fun3.apply(1, 2)));
+	}
+}
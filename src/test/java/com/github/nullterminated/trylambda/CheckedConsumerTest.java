@@ -17,6 +17,7 @@
 package com.github.nullterminated.trylambda;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -54,6 +55,6 @@ public class CheckedConsumerTest {
 		cons1.accept(1);
 		assertEquals(1, holds.value);
 		assertThrows(WrappedException.class, () -> cons2.accept(1));
-		assertThrows(WrappedException.class, () -> cons3.accept(1));
+		assertSame(wrap, assertThrows(WrappedException.class, () -> cons3.accept(1)));
 	}
 }
@@ -17,7 +17,16 @@
 package com.github.nullterminated.trylambda;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
@@ -42,5 +51,99 @@ public class CheckedFunctionTest {
 		};
 		assertEquals(Integer.valueOf(2), fun1.apply(1));
 		assertThrows(WrappedException.class, () -> fun2.apply(1));
+		final WrappedException wrap = WrappedException.wrap(ex);
+		final CheckedFunction<Integer, Integer> fun3 = i -> {
+			throw wrap;
+		};
+		assertSame(wrap, assertThrows(WrappedException.class, () -> fun3.apply(1)));
+	}
+
+	/**
+	 * Test of andThenChecked method, of class CheckedFunction.
+	 */
+	@Test
+	public void testAndThenChecked() {
+		final Exception ex = new Exception();
+		final CheckedFunction<Integer, Integer> inc = i -> i + 1;
+		final CheckedFunction<Integer, String> str = Object::toString;
+		final CheckedFunction<Integer, Integer> thr = i -> {
+			throw ex;
+		};
+		assertEquals("3", inc.andThenChecked(inc).andThenChecked(str).apply(1));
+		assertEquals(Either.left(ex), Try.either(() -> thr.andThenChecked(inc).andThenChecked(str).applies(1)));
+		assertSame(ex, assertThrows(WrappedException.class, () -> inc.andThenChecked(thr).apply(1)).getCause());
+		assertThrows(NullPointerException.class, () -> inc.andThenChecked(null));
+	}
+
+	/**
+	 * Test of composeChecked method, of class CheckedFunction.
+	 */
+	@Test
+	public void testComposeChecked() {
+		final Exception ex = new Exception();
+		final CheckedFunction<Integer, Integer> inc = i -> i + 1;
+		final CheckedFunction<String, Integer> parse = Integer::valueOf;
+		final CheckedFunction<String, String> thr = s -> {
+			throw ex;
+		};
+		assertEquals(Integer.valueOf(3), inc.composeChecked(inc).composeChecked(parse).apply("1"));
+		assertEquals(Either.left(ex), Try.either(() -> inc.composeChecked(parse).composeChecked(thr).applies("1")));
+		assertThrows(NullPointerException.class, () -> inc.composeChecked(null));
+	}
+
+	/**
+	 * Test of rateLimited method, of class CheckedFunction.
+	 */
+	@Test
+	public void testRateLimited() {
+		final CheckedFunction<Integer, Integer> fun = i -> i + 1;
+		final CheckedFunction<Integer, Integer> limited = fun.rateLimited(0.001, Duration.ofMillis(1));
+		assertEquals(Either.right(2), Try.either(() -> limited.applies(1)));
+		final RejectedException rejected = (RejectedException) Try.either(() -> limited.applies(1)).getLeft();
+		assertEquals(0, rejected.getStackTrace().length);
+		assertThrows(IllegalArgumentException.class, () -> fun.rateLimited(0.0));
+		assertThrows(IllegalArgumentException.class, () -> fun.rateLimited(1.0, Duration.ofSeconds(-1)));
+	}
+
+	/**
+	 * Test of bulkhead method, of class CheckedFunction.
+	 */
+	@Test
+	public void testBulkhead() throws Exception {
+		final AtomicReference<CheckedFunction<Integer, Integer>> self = new AtomicReference<>();
+		final CheckedFunction<Integer, Integer> reentrant = i -> i == 0 ? i : self.get().applies(i - 1);
+		self.set(reentrant.bulkhead(1));
+		assertEquals(Either.right(0), Try.either(() -> self.get().applies(0)));
+		assertTrue(Try.either(() -> self.get().applies(1)).getLeft() instanceof RejectedException);
+		assertEquals(Either.right(0), Try.either(() -> self.get().applies(0)));
+
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CheckedFunction<Integer, Integer> blocking = i -> {
+			entered.countDown();
+			release.await();
+			return i;
+		};
+		final CheckedFunction<Integer, Integer> bulkhead = blocking.bulkhead(1, Duration.ofSeconds(5));
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Future<Integer> first = executor.submit(() -> bulkhead.apply(1));
+			entered.await();
+			final Thread releaser = new Thread(() -> {
+				try {
+					Thread.sleep(50L);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				release.countDown();
+			});
+			releaser.start();
+			assertEquals(Integer.valueOf(2), bulkhead.apply(2));
+			assertEquals(Integer.valueOf(1), first.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThrows(IllegalArgumentException.class, () -> blocking.bulkhead(0));
+		assertThrows(IllegalArgumentException.class, () -> blocking.bulkhead(1, Duration.ofSeconds(-1)));
 	}
 }
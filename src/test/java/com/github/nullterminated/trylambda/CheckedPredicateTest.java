@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class CheckedPredicateTest {
+
+	public CheckedPredicateTest() {
+	}
+
+	/**
+	 * Test of test method, of class CheckedPredicate.
+	 */
+	@Test
+	public void testTest() {
+		final Exception ex = new Exception();
+		final CheckedPredicate<Integer> pred1 = i -> i > 0;
+		final CheckedPredicate<Integer> pred2 = i -> {
+			throw ex;
+		};
+		assertTrue(pred1.test(1));
+		assertFalse(pred1.test(0));
+		assertSame(ex, assertThrows(WrappedException.class, () -> pred2.test(1)).getCause());
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class CheckedRunnableTest {
+
+	public CheckedRunnableTest() {
+	}
+
+	private static class Holder {
+		int value = 0;
+	}
+
+	/**
+	 * Test of run method, of class CheckedRunnable.
+	 */
+	@Test
+	public void testRun() {
+		final Holder holds = new Holder();
+		final Exception ex = new Exception();
+		final FailureSignal signal = new FailureSignal("signal");
+		final CheckedRunnable run1 = () -> {
+			holds.value = 1;
+		};
+		final CheckedRunnable run2 = () -> {
+			throw ex;
+		};
+		final CheckedRunnable run3 = () -> {
+			throw signal;
+		};
+		run1.run();
+		assertEquals(1, holds.value);
+		assertSame(ex, assertThrows(WrappedException.class, () -> run2.run()).getCause());
+		assertSame(signal, assertThrows(FailureSignal.class, () -> run3.run()));
+	}
+}
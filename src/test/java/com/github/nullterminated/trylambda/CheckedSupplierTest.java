@@ -17,6 +17,7 @@
 package com.github.nullterminated.trylambda;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -47,5 +48,10 @@ public class CheckedSupplierTest {
 		assertEquals(Integer.valueOf(2), supplier2.get());
 		assertThrows(WrappedException.class, () -> supplier1.get());
 		assertThrows(WrappedException.class, () -> supplier3.get());
+		final FailureSignal signal = new FailureSignal("signal");
+		final CheckedSupplier<Integer> supplier4 = () -> {
+			throw signal;
+		};
+		assertSame(signal, assertThrows(FailureSignal.class, () -> supplier4.get()));
 	}
 }
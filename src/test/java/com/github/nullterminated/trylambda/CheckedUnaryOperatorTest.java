@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class CheckedUnaryOperatorTest {
+
+	public CheckedUnaryOperatorTest() {
+	}
+
+	/**
+	 * Test of apply method, of class CheckedUnaryOperator.
+	 */
+	@Test
+	public void testApply() {
+		final Exception ex = new Exception();
+		final CheckedUnaryOperator<Integer> op1 = i -> i + 1;
+		final CheckedUnaryOperator<Integer> op2 = i -> {
+			throw ex;
+		};
+		final UnaryOperator<Integer> op = op1;
+		assertEquals(Integer.valueOf(2), op.apply(1));
+		assertSame(ex, assertThrows(WrappedException.class, () -> op2.apply(1)).getCause());
+	}
+}
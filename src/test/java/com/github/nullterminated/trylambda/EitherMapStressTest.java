@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+@Tag("stress")
+public class EitherMapStressTest {
+
+	private static final int KEYS = 100;
+
+	public EitherMapStressTest() {
+	}
+
+	/**
+	 * Test of computeIfAbsent method from many threads at once, of class
+	 * EitherMap. Each key, including failing keys, is loaded exactly once.
+	 */
+	@Test
+	public void testComputeIfAbsent() throws Exception {
+		final AtomicIntegerArray loads = new AtomicIntegerArray(KEYS);
+		final IOException odd = new IOException("odd");
+		final CheckedFunction<Integer, Integer> loader = key -> {
+			loads.incrementAndGet(key);
+			if (key % 2 == 1) {
+				throw odd;
+			}
+			return key * 2;
+		};
+		final EitherMap<Integer, Integer> map = new EitherMap<>(Duration.ofHours(1L));
+		Stress.run(Stress.THREADS, thread -> {
+			for (int i = 0; i < Stress.ITERATIONS / Stress.THREADS; i++) {
+				final int key = (thread * 7 + i) % KEYS;
+				assertEquals(key % 2 == 1 ? Either.left(odd) : Either.right(key * 2),
+						map.computeIfAbsent(key, loader));
+			}
+		});
+		for (int key = 0; key < KEYS; key++) {
+			assertEquals(1, loads.get(key));
+		}
+		assertEquals(KEYS, map.size());
+	}
+
+	/**
+	 * Test of refreshing values while many threads read them, of class
+	 * EitherMap. Readers always see a value, never a failure or a gap.
+	 */
+	@Test
+	public void testRefresh() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final EitherMap<Integer, Integer> map = new EitherMap<>(Duration.ZERO, Duration.ZERO, executor);
+			Stress.run(Stress.THREADS, thread -> {
+				for (int i = 0; i < Stress.ITERATIONS / Stress.THREADS; i++) {
+					final int key = i % KEYS;
+					assertEquals(Either.right(key), map.computeIfAbsent(key, k -> k));
+				}
+			});
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class EitherMapTest {
+
+	public EitherMapTest() {
+	}
+
+	/**
+	 * Test of computeIfAbsent method, of class EitherMap.
+	 */
+	@Test
+	public void testComputeIfAbsent() throws Exception {
+		final EitherMap<String, Integer> map = new EitherMap<>();
+		final AtomicInteger loads = new AtomicInteger();
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CheckedFunction<String, Integer> slow = key -> {
+			loads.incrementAndGet();
+			entered.countDown();
+			release.await();
+			return key.length();
+		};
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<Either<Exception, Integer>> first = executor.submit(() -> map.computeIfAbsent("key", slow));
+			entered.await();
+			final Future<Either<Exception, Integer>> second = executor.submit(() -> map.computeIfAbsent("key", slow));
+			Thread.currentThread().interrupt();
+			assertTrue(map.computeIfAbsent("key", slow).getLeft() instanceof InterruptedException);
+			assertTrue(Thread.interrupted());
+			release.countDown();
+			assertEquals(Either.right(3), first.get());
+			assertEquals(Either.right(3), second.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(Either.right(3), map.computeIfAbsent("key", slow));
+		assertEquals(1, loads.get());
+		assertEquals(1, map.size());
+		assertEquals("EitherMap{size=1}", map.toString());
+		map.invalidate("key");
+		assertEquals(Either.right(3), map.computeIfAbsent("key", slow));
+		assertEquals(2, loads.get());
+		map.clear();
+		assertEquals(0, map.size());
+		assertThrows(NullPointerException.class, () -> map.computeIfAbsent(null, slow));
+	}
+
+	/**
+	 * Test of caching failures, of class EitherMap.
+	 */
+	@Test
+	public void testFailures() throws Exception {
+		final IOException ex = new IOException("expected");
+		final AtomicInteger loads = new AtomicInteger();
+		final CheckedFunction<String, Integer> failing = key -> {
+			loads.incrementAndGet();
+			throw ex;
+		};
+		final EitherMap<String, Integer> uncached = new EitherMap<>();
+		assertEquals(Either.left(ex), uncached.computeIfAbsent("key", failing));
+		assertEquals(Either.left(ex), uncached.computeIfAbsent("key", failing));
+		assertEquals(2, loads.get());
+		assertEquals(0, uncached.size());
+
+		final EitherMap<String, Integer> cached = new EitherMap<>(Duration.ofMillis(50));
+		assertEquals(Either.left(ex), cached.computeIfAbsent("key", failing));
+		assertEquals(Either.left(ex), cached.computeIfAbsent("key", failing));
+		assertEquals(3, loads.get());
+		Thread.sleep(60L);
+		assertEquals(Either.left(ex), cached.computeIfAbsent("key", failing));
+		assertEquals(4, loads.get());
+
+		final CheckedFunction<String, Integer> erroring = key -> {
+			throw new AssertionError("expected");
+		};
+		assertThrows(AssertionError.class, () -> cached.computeIfAbsent("error", erroring));
+		assertEquals(1, cached.size());
+		assertThrows(IllegalArgumentException.class, () -> new EitherMap<>(Duration.ofMillis(-1)));
+		assertThrows(IllegalArgumentException.class,
+				() -> new EitherMap<>(Duration.ZERO, Duration.ofMillis(-1), Runnable::run));
+		assertThrows(NullPointerException.class, () -> new EitherMap<>(Duration.ZERO, Duration.ZERO, null));
+	}
+
+	/**
+	 * Test of refreshing values, of class EitherMap.
+	 */
+	@Test
+	public void testRefresh() {
+		final AtomicInteger loads = new AtomicInteger();
+		final CheckedFunction<String, Integer> counting = key -> {
+			if (loads.incrementAndGet() == 3) {
+				throw new IOException("expected");
+			}
+			return loads.get();
+		};
+		final EitherMap<String, Integer> map = new EitherMap<>(Duration.ZERO, Duration.ZERO, Runnable::run);
+		assertEquals(Either.right(1), map.computeIfAbsent("key", counting));
+		assertEquals(Either.right(1), map.computeIfAbsent("key", counting));
+		assertEquals(Either.right(2), map.computeIfAbsent("key", counting));
+		assertEquals(Either.right(2), map.computeIfAbsent("key", counting));
+		assertEquals(Either.right(2), map.computeIfAbsent("key", counting));
+		assertEquals(3, loads.get());
+
+		final EitherMap<String, Integer> erroring = new EitherMap<>(Duration.ZERO, Duration.ZERO, Runnable::run);
+		assertEquals(Either.right(1), erroring.computeIfAbsent("key", key -> 1));
+		assertThrows(AssertionError.class, () -> erroring.computeIfAbsent("key", key -> {
+			throw new AssertionError("expected");
+		}));
+		assertEquals(Either.right(1), erroring.computeIfAbsent("key", key -> 2));
+
+		final EitherMap<String, Integer> rejecting = new EitherMap<>(Duration.ZERO, Duration.ZERO, task -> {
+			throw new RejectedExecutionException("expected");
+		});
+		final Either<Exception, Integer> value = rejecting.computeIfAbsent("key", key -> 1);
+		assertSame(value, rejecting.computeIfAbsent("key", key -> 2));
+		assertSame(value, rejecting.computeIfAbsent("key", key -> 3));
+	}
+
+	/**
+	 * Test of computeIfAbsent method with callers in a TryContext, of class
+	 * EitherMap.
+	 */
+	@Test
+	public void testContext() {
+		final EitherMap<String, Integer> map = new EitherMap<>(Duration.ofHours(1L));
+		final AtomicInteger loads = new AtomicInteger();
+		final CheckedFunction<String, Integer> counting = key -> loads.incrementAndGet();
+		final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+		assertTrue(expired.wrap(() -> map.computeIfAbsent("key", counting)).get()
+				.getLeft() instanceof DeadlineExceededException);
+		assertEquals(0, loads.get());
+		assertEquals(Either.right(1), map.computeIfAbsent("key", counting));
+
+		final TryContext context = TryContext.create();
+		final Either<Exception, Integer> nested = context.wrap(() -> map.computeIfAbsent("nested", key -> {
+			context.cancel();
+			return Try.either(() -> key.length()).getRight();
+		})).get();
+		assertEquals(Either.right(6), nested);
+		assertEquals(Either.right(6), map.computeIfAbsent("nested", counting));
+	}
+
+	/**
+	 * Test of computeIfAbsent method with failures which are never cached, of
+	 * class EitherMap.
+	 */
+	@Test
+	public void testUncachedFailures() {
+		final EitherMap<String, Integer> map = new EitherMap<>(Duration.ofHours(1L));
+		final AtomicInteger loads = new AtomicInteger();
+		for (final Exception e : new Exception[] { new DeadlineExceededException("expected"),
+				new CancellationException("expected"), new InterruptedException("expected") }) {
+			assertSame(e, map.computeIfAbsent(e.getClass().getName(), key -> {
+				loads.incrementAndGet();
+				throw e;
+			}).getLeft());
+			assertEquals(Either.right(1), map.computeIfAbsent(e.getClass().getName(), key -> 1));
+		}
+		assertEquals(3, loads.get());
+	}
+
+	/**
+	 * Test of computeIfAbsent method when the loading caller is interrupted, of
+	 * class EitherMap.
+	 */
+	@Test
+	public void testLoaderInterrupted() throws Exception {
+		final EitherMap<String, Integer> map = new EitherMap<>(Duration.ofHours(1L));
+		final AtomicInteger loads = new AtomicInteger();
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CheckedFunction<String, Integer> slowFirst = key -> {
+			if (loads.incrementAndGet() == 1) {
+				entered.countDown();
+				Thread.sleep(10_000L);
+			}
+			return key.length();
+		};
+		final AtomicReference<Either<Exception, Integer>> loaded = new AtomicReference<>();
+		final AtomicReference<Either<Exception, Integer>> waited = new AtomicReference<>();
+		final Thread loader = new Thread(() -> loaded.set(map.computeIfAbsent("key", slowFirst)));
+		final Thread waiter = new Thread(() -> waited.set(map.computeIfAbsent("key", slowFirst)));
+		loader.start();
+		entered.await();
+		waiter.start();
+		while (waiter.getState() != Thread.State.WAITING) {
+			Thread.sleep(1L);
+		}
+		loader.interrupt();
+		loader.join();
+		waiter.join();
+		assertTrue(loaded.get().getLeft() instanceof InterruptedException);
+		assertEquals(Either.right(3), waited.get());
+		assertEquals(2, loads.get());
+		assertEquals(Either.right(3), map.computeIfAbsent("key", slowFirst));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+@Tag("stress")
+public class EitherStressTest {
+
+	public EitherStressTest() {
+	}
+
+	static final class Holder {
+
+		Either<String, Integer> value;
+	}
+
+	/**
+	 * Test of publishing instances through a data race, of class Either. Readers
+	 * which see an instance must also see its value, because the value is final.
+	 */
+	@Test
+	public void testPublication() throws Exception {
+		final Holder[] holders = new Holder[Stress.ITERATIONS];
+		for (int i = 0; i < holders.length; i++) {
+			holders[i] = new Holder();
+		}
+		final boolean[] done = new boolean[1];
+		final Object lock = new Object();
+		Stress.run(Stress.THREADS, thread -> {
+			if (thread == 0) {
+				for (int i = 0; i < holders.length; i++) {
+					holders[i].value = i % 2 == 0 ? Either.right(i) : Either.left(Integer.toString(i));
+				}
+				synchronized (lock) {
+					done[0] = true;
+				}
+				return;
+			}
+			boolean finished;
+			do {
+				synchronized (lock) {
+					finished = done[0];
+				}
+				for (int i = 0; i < holders.length; i++) {
+					final Either<String, Integer> value = holders[i].value;
+					if (value != null) {
+						assertEquals(i, i % 2 == 0 ? value.getRight().intValue() : Integer.parseInt(value.getLeft()));
+					}
+				}
+			} while (!finished);
+		});
+	}
+
+	/**
+	 * Test of hashCode method when threads race to cache the hash, of class
+	 * Either.
+	 */
+	@Test
+	public void testHashCode() throws Exception {
+		final int size = Stress.ITERATIONS / 10;
+		final Either<?, ?>[] shared = new Either<?, ?>[size];
+		final int[] expected = new int[size];
+		for (int i = 0; i < size; i++) {
+			shared[i] = i % 2 == 0 ? Either.right("v" + i) : Either.left("v" + i);
+			expected[i] = (i % 2 == 0 ? Either.right("v" + i) : Either.left("v" + i)).hashCode();
+		}
+		Stress.run(Stress.THREADS, thread -> {
+			for (int i = 0; i < size; i++) {
+				assertEquals(expected[i], shared[i].hashCode());
+			}
+		});
+	}
+}
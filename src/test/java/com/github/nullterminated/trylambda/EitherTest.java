@@ -18,6 +18,7 @@ package com.github.nullterminated.trylambda;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -26,8 +27,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -154,6 +160,17 @@ public class EitherTest {
 		assertThrows(UnsupportedOperationException.class, () -> Either.left("test").getRight());
 	}
 
+	/**
+	 * Test of left and right accessors, of classes Either.Left and Either.Right.
+	 */
+	@Test
+	public void testAccessors() {
+		final Either<String, Integer> left = Either.left("test");
+		final Either<String, Integer> right = Either.right(1);
+		assertEquals("test", ((Either.Left<String, Integer>) left).left());
+		assertEquals(Integer.valueOf(1), ((Either.Right<String, Integer>) right).right());
+	}
+
 	@Test
 	public void testEquals() {
 		final Either<String, String> right = Either.right("test");
@@ -172,8 +189,27 @@ public class EitherTest {
 
 	@Test
 	public void testHashCode() {
-		assertEquals(3556617, Either.left("test").hashCode());
-		assertEquals(3556621, Either.right("test").hashCode());
+		assertEquals(1070427281, Either.left("test").hashCode());
+		assertEquals(134943367, Either.right("test").hashCode());
+		final Set<Integer> hashes = IntStream.range(0, 10_000)
+				.boxed()
+				.flatMap(i -> Stream.of(Either.left(i), Either.right(i)))
+				.map(Either::hashCode)
+				.collect(Collectors.toSet());
+		assertEquals(20_000, hashes.size());
+
+		final List<Integer> mutable = new ArrayList<>();
+		final Either<List<Integer>, String> left = Either.left(mutable);
+		final int empty = left.hashCode();
+		mutable.add(1);
+		assertNotEquals(empty, left.hashCode());
+		assertEquals(Either.left(Arrays.asList(1)).hashCode(), left.hashCode());
+		final Either<String, List<Integer>> right = Either.right(mutable);
+		final int one = right.hashCode();
+		mutable.add(2);
+		assertNotEquals(one, right.hashCode());
+		mutable.remove(1);
+		assertEquals(one, right.hashCode());
 	}
 
 	@Test
@@ -231,6 +267,20 @@ public class EitherTest {
 		assertEquals(Either.left(1), Either.right(1).flip());
 	}
 
+	/**
+	 * Test of loop method, of class Either.
+	 */
+	@Test
+	public void testLoop() {
+		final Either<String, Long> sum = Either.loop(new long[] { 1_000_000L, 0L },
+				s -> Either.right(s[0] == 0L ? Either.right(s[1]) : Either.left(new long[] { s[0] - 1L, s[1] + s[0] })));
+		assertEquals(Either.right(500_000_500_000L), sum);
+		final Either<String, Integer> failed = Either.loop(0,
+				i -> i == 100_000 ? Either.left("stop") : Either.right(Either.left(i + 1)));
+		assertEquals(Either.left("stop"), failed);
+		assertThrows(NullPointerException.class, () -> Either.loop(0, null));
+	}
+
 	@Test
 	public void testSerialiable() throws Exception {
 		final Either<Integer, Thread> expected = Either.left(1);
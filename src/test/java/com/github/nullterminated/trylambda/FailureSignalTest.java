@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class FailureSignalTest {
+
+	private static final FailureSignal NOT_FOUND = new FailureSignal("not found");
+
+	public FailureSignalTest() {
+	}
+
+	/**
+	 * Test of either method, of class FailureSignal.
+	 */
+	@Test
+	public void testEither() {
+		final Either<Exception, String> left = NOT_FOUND.either();
+		assertSame(left, NOT_FOUND.either());
+		assertSame(NOT_FOUND, left.getLeft());
+	}
+
+	/**
+	 * Test that failure signals are immutable, of class FailureSignal.
+	 */
+	@Test
+	public void testImmutable() {
+		assertEquals(0, NOT_FOUND.getStackTrace().length);
+		NOT_FOUND.addSuppressed(new Exception());
+		NOT_FOUND.setStackTrace(new Exception().getStackTrace());
+		NOT_FOUND.fillInStackTrace();
+		assertEquals(0, NOT_FOUND.getSuppressed().length);
+		assertEquals(0, NOT_FOUND.getStackTrace().length);
+		assertThrows(IllegalStateException.class, () -> NOT_FOUND.initCause(new Exception()));
+		assertEquals("not found", NOT_FOUND.getMessage());
+	}
+}
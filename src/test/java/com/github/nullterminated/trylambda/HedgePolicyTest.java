@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class HedgePolicyTest {
+
+	public HedgePolicyTest() {
+	}
+
+	/**
+	 * Test of getHedgeDelay method, of class HedgePolicy.
+	 */
+	@Test
+	public void testGetHedgeDelay() {
+		final HedgePolicy adaptive = new HedgePolicy(Duration.ofMillis(10), 50.0);
+		final HedgePolicy fixed = HedgePolicy.fixed(Duration.ofMillis(10));
+		for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+			assertEquals(Duration.ofMillis(10), adaptive.getHedgeDelay());
+			adaptive.recordWin(0, 1000L);
+			fixed.recordWin(0, 1000L);
+		}
+		assertTrue(adaptive.getHedgeDelay().toNanos() < 1100L);
+		assertEquals(Duration.ofMillis(10), fixed.getHedgeDelay());
+		assertEquals(HedgePolicy.MIN_SAMPLES, adaptive.getLatencies().count());
+		assertEquals(Duration.ofMillis(10), new HedgePolicy(Duration.ofMillis(10)).getHedgeDelay());
+	}
+
+	/**
+	 * Test of getHedgeDelay method between updates, of class HedgePolicy.
+	 */
+	@Test
+	public void testGetHedgeDelayUpdate() {
+		final HedgePolicy policy = new HedgePolicy(Duration.ofMillis(10), 50.0);
+		for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+			policy.recordWin(0, 1000L);
+		}
+		final Duration delay = policy.getHedgeDelay();
+		for (int i = 1; i < HedgePolicy.UPDATE_INTERVAL; i++) {
+			policy.recordWin(0, 1_000_000L);
+		}
+		assertEquals(delay, policy.getHedgeDelay());
+		policy.recordWin(0, 1_000_000L);
+		assertTrue(policy.getHedgeDelay().toNanos() >= 1_000_000L);
+		policy.getLatencies().reset();
+		assertEquals(Duration.ofMillis(10), policy.getHedgeDelay());
+		for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+			policy.recordWin(0, 1000L);
+		}
+		assertTrue(policy.getHedgeDelay().toNanos() < 1100L);
+	}
+
+	/**
+	 * Test of unrecorded method, of class HedgePolicy.
+	 */
+	@Test
+	public void testUnrecorded() {
+		final HedgePolicy policy = HedgePolicy.unrecorded(Duration.ofMillis(10));
+		policy.recordCall(2);
+		policy.recordWin(1, 1000L);
+		assertEquals(0L, policy.getCalls());
+		assertEquals(0L, policy.getHedgeWins());
+		assertEquals(0L, policy.getLatencies().count());
+		assertEquals(Duration.ofMillis(10), policy.getHedgeDelay());
+	}
+
+	/**
+	 * Test of constructor validation, of class HedgePolicy.
+	 */
+	@Test
+	public void testHedgePolicy() {
+		assertThrows(NullPointerException.class, () -> new HedgePolicy(null));
+		assertThrows(IllegalArgumentException.class, () -> new HedgePolicy(Duration.ofMillis(-1)));
+		assertThrows(IllegalArgumentException.class, () -> new HedgePolicy(Duration.ZERO, 0.0));
+		assertThrows(IllegalArgumentException.class, () -> new HedgePolicy(Duration.ZERO, 101.0));
+	}
+
+	/**
+	 * Test of metrics methods, of class HedgePolicy.
+	 */
+	@Test
+	public void testMetrics() {
+		final HedgePolicy policy = new HedgePolicy(Duration.ZERO);
+		assertEquals(0.0, policy.getHedgeWinRatio());
+		policy.recordCall(1);
+		policy.recordWin(0, 1L);
+		policy.recordCall(3);
+		policy.recordWin(2, 1L);
+		assertEquals(2L, policy.getCalls());
+		assertEquals(2L, policy.getHedges());
+		assertEquals(1L, policy.getHedgeWins());
+		assertEquals(0.5, policy.getHedgeWinRatio());
+		assertTrue(policy.toString().startsWith("HedgePolicy{"));
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class LatencyHistogramTest {
+
+	public LatencyHistogramTest() {
+	}
+
+	/**
+	 * Test of record method, of class LatencyHistogram.
+	 */
+	@Test
+	public void testRecord() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-1L);
+		histogram.record(10L);
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(3L, histogram.count());
+		histogram.reset();
+		assertEquals(0L, histogram.count());
+		assertEquals(0L, histogram.percentile(50.0));
+	}
+
+	/**
+	 * Test of percentile method, of class LatencyHistogram.
+	 */
+	@Test
+	public void testPercentile() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1L; i <= 1000L; i++) {
+			histogram.record(i * 1000L);
+		}
+		final long p50 = histogram.percentile(50.0);
+		final long p99 = histogram.percentile(99.0);
+		assertTrue(p50 >= 500_000L && p50 <= 500_000L * 33 / 32, Long.toString(p50));
+		assertTrue(p99 >= 990_000L && p99 <= 990_000L * 33 / 32, Long.toString(p99));
+		assertTrue(histogram.percentile(100.0) >= 1_000_000L);
+		assertThrows(IllegalArgumentException.class, () -> histogram.percentile(0.0));
+		assertThrows(IllegalArgumentException.class, () -> histogram.percentile(100.1));
+		assertThrows(IllegalArgumentException.class, () -> histogram.percentile(Double.NaN));
+	}
+
+	/**
+	 * Test of index and highestEquivalentValue methods, of class
+	 * LatencyHistogram.
+	 */
+	@Test
+	public void testBuckets() {
+		for (long value = 0L; value < 1_000_000L; value += 7L) {
+			final int index = LatencyHistogram.index(value);
+			assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+			assertTrue(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value);
+		}
+	}
+
+	/**
+	 * Test of striped recording, of class LatencyHistogram.
+	 */
+	@Test
+	public void testStripes() throws Exception {
+		final LatencyHistogram histogram = new LatencyHistogram(3);
+		final Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					histogram.record(100L);
+				}
+			});
+			threads[i].start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(8000L, histogram.count());
+		assertEquals(101L, histogram.percentile(50.0));
+		histogram.reset();
+		assertEquals(0L, histogram.count());
+		assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+		assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(65));
+	}
+}
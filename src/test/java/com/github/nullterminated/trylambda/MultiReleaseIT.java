@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the Java 17 classes in the packaged multi-release jar. These run with
+ * failsafe against the jar, so the versioned classes are loaded.
+ *
+ * @author Ramsey Gurley
+ */
+public class MultiReleaseIT {
+
+	public MultiReleaseIT() {
+	}
+
+	/**
+	 * Test that Either is sealed, of class Either.
+	 */
+	@Test
+	public void testSealed() throws ReflectiveOperationException {
+		assertTrue((Boolean) Class.class.getMethod("isSealed").invoke(Either.class));
+		final Class<?>[] permitted = (Class<?>[]) Class.class.getMethod("getPermittedSubclasses").invoke(Either.class);
+		assertEquals(Set.of(Either.Left.class, Either.Right.class),
+				Arrays.stream(permitted).collect(Collectors.toSet()));
+		assertEquals(Either.right("test"), Either.left("test").flip());
+	}
+}
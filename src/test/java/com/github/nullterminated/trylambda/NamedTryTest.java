@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class NamedTryTest {
+
+	public NamedTryTest() {
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TryStats.clear();
+	}
+
+	/**
+	 * Test of either method, of class NamedTry.
+	 */
+	@Test
+	public void testEither() {
+		final NamedTry named = Try.named("named");
+		final IOException ex = new IOException();
+		final Supplier<Integer> supplier = () -> 2;
+		assertEquals("named", named.getName());
+		assertEquals(Either.right(1), named.either(() -> 1));
+		assertEquals(Either.right(2), named.either(supplier));
+		assertEquals(Either.left(ex), Try.named("named").either(() -> {
+			throw ex;
+		}));
+		final TryStats.Snapshot snapshot = named.getStats().snapshot();
+		assertEquals(2L, snapshot.getSuccesses());
+		assertEquals(1L, snapshot.getFailures());
+		assertEquals(Long.valueOf(1L), snapshot.getFailuresByType().get(IOException.class.getName()));
+	}
+
+	/**
+	 * Test of the flight recorder event of either method, of class NamedTry.
+	 * Events are only committed where pinning can be monitored, so the event
+	 * path is called directly.
+	 */
+	@Test
+	public void testEvent() throws Exception {
+		final Path file = Files.createTempFile("trylambda", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(TryCallEvent.NAME).withThreshold(Duration.ZERO);
+			recording.start();
+			assertEquals(Either.right(1), TryCallEvent.either(Try.named("recorded"), () -> 1));
+			final CheckedSupplier<Integer> failing = () -> {
+				throw new IOException();
+			};
+			TryCallEvent.either(Try.named("recorded"), failing);
+			Try.named("unrecorded").either(() -> 1);
+			recording.stop();
+			recording.dump(file);
+			final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertEquals(PinningMonitor.isSupported() ? 3 : 2, events.size());
+			assertEquals("recorded", events.get(0).getString("callSite"));
+			assertEquals(1L, events.stream().filter(e -> e.getBoolean("failed")).count());
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
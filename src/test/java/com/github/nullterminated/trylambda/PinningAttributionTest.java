@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class PinningAttributionTest {
+
+	public PinningAttributionTest() {
+	}
+
+	private static Instant at(final long millis) {
+		return Instant.ofEpochMilli(millis);
+	}
+
+	/**
+	 * Test of call method, of class PinningAttribution.
+	 */
+	@Test
+	public void testCall() {
+		final PinningAttribution attribution = new PinningAttribution();
+		attribution.pinned(1L, at(100L));
+		attribution.pinned(1L, at(50L));
+		attribution.pinned(1L, at(200L));
+		attribution.call(2L, "other", at(0L), at(300L));
+		attribution.call(1L, "named", at(90L), at(110L));
+		assertEquals(Map.of("named", 1L, PinningMonitor.UNNAMED, 1L), attribution.snapshot());
+		attribution.call(1L, "later", at(150L), at(250L));
+		assertEquals(Map.of("named", 1L, "later", 1L, PinningMonitor.UNNAMED, 1L), attribution.snapshot());
+		attribution.call(1L, "none", at(150L), at(250L));
+		assertEquals(3, attribution.snapshot().size());
+	}
+
+	/**
+	 * Test of pinned method, of class PinningAttribution.
+	 */
+	@Test
+	public void testPinned() {
+		final PinningAttribution attribution = new PinningAttribution();
+		assertTrue(attribution.snapshot().isEmpty());
+		attribution.pinned(null, at(100L));
+		assertEquals(Collections.singletonMap(PinningMonitor.UNNAMED, 1L), attribution.snapshot());
+	}
+
+	/**
+	 * Test of flush method, of class PinningAttribution.
+	 */
+	@Test
+	public void testFlush() {
+		final PinningAttribution attribution = new PinningAttribution();
+		attribution.pinned(1L, at(100L));
+		attribution.pinned(1L, at(1100L));
+		attribution.flush(at(1000L));
+		assertTrue(attribution.snapshot().isEmpty());
+		attribution.flush(at(2000L));
+		assertEquals(Collections.singletonMap(PinningMonitor.UNNAMED, 1L), attribution.snapshot());
+		attribution.call(1L, "named", at(1000L), at(1200L));
+		assertEquals(Map.of("named", 1L, PinningMonitor.UNNAMED, 1L), attribution.snapshot());
+		attribution.flush(at(3000L));
+		assertEquals(2, attribution.snapshot().size());
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the Java 17 PinningMonitor in the packaged multi-release jar. The
+ * monitor test is skipped on runtimes without virtual threads.
+ *
+ * @author Ramsey Gurley
+ */
+public class PinningMonitorIT {
+
+	public PinningMonitorIT() {
+	}
+
+	/**
+	 * Test of start method, of class PinningMonitor.
+	 */
+	@Test
+	public void testStart() throws Exception {
+		if (!PinningMonitor.isSupported()) {
+			assertThrows(UnsupportedOperationException.class, PinningMonitor::start);
+		}
+		assumeTrue(PinningMonitor.isSupported(), "Pinning events are not supported by this runtime");
+		// Before Java 24, blocking while holding a monitor pins the virtual thread
+		assumeTrue(Runtime.version().feature() < 24, "Monitors no longer pin virtual threads");
+		final Object lock = new Object();
+		final ExecutorService executor = (ExecutorService) Executors.class
+				.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		try (PinningMonitor monitor = PinningMonitor.start(Duration.ofMillis(10L))) {
+			final Future<Either<Exception, Integer>> pinned = executor.submit(() -> Try.named("pinning").either(() -> {
+				synchronized (lock) {
+					Thread.sleep(50L);
+				}
+				return 1;
+			}));
+			assertEquals(Either.right(1), pinned.get());
+			final long deadline = System.nanoTime() + Duration.ofSeconds(10L).toNanos();
+			while (!monitor.getPinned().containsKey("pinning") && System.nanoTime() < deadline) {
+				Thread.sleep(100L);
+			}
+			assertEquals(Long.valueOf(1L), monitor.getPinned().get("pinning"));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
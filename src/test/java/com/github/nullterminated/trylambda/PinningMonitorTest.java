@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class PinningMonitorTest {
+
+	public PinningMonitorTest() {
+	}
+
+	/**
+	 * Test of start method, of class PinningMonitor. Tests run against the base
+	 * classes, where monitoring is not supported.
+	 */
+	@Test
+	public void testStart() {
+		if (PinningMonitor.isSupported()) {
+			try (PinningMonitor monitor = PinningMonitor.start(Duration.ZERO)) {
+				Try.named("monitored").either(() -> 1);
+				assertTrue(monitor.getPinned().isEmpty());
+			}
+		} else {
+			assertThrows(UnsupportedOperationException.class, PinningMonitor::start);
+		}
+	}
+}
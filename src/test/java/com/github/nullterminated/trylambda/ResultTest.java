@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class ResultTest {
+
+	public ResultTest() {
+	}
+
+	static class Holder<T> {
+
+		T value;
+	}
+
+	private static List<Result<Integer, String>> results() {
+		return Arrays.asList(
+				Result.left(1),
+				Result.right("hello"),
+				Result.right("world"),
+				Result.left(3));
+	}
+
+	/**
+	 * Test of the class modifiers, of class Result.
+	 */
+	@Test
+	public void testFinal() {
+		assertTrue(Modifier.isFinal(Result.class.getModifiers()));
+		assertTrue(Arrays.stream(Result.class.getDeclaredFields())
+				.allMatch(f -> Modifier.isFinal(f.getModifiers())));
+	}
+
+	/**
+	 * Test of use method, of class Result.
+	 */
+	@Test
+	public void testUse() {
+		final Holder<Integer> sum = new Holder<>();
+		sum.value = 0;
+		results().forEach(result -> result.use(
+				left -> sum.value += left,
+				right -> sum.value += right.length()));
+		assertEquals(Integer.valueOf(14), sum.value);
+	}
+
+	/**
+	 * Test of reduce method, of class Result.
+	 */
+	@Test
+	public void testReduce() {
+		final int sum = results().stream()
+				.mapToInt(result -> result.reduce(left -> left, String::length))
+				.sum();
+		assertEquals(14, sum);
+	}
+
+	/**
+	 * Test of isLeft and isRight methods, of class Result.
+	 */
+	@Test
+	public void testIsLeft() {
+		assertEquals(2L, results().stream().filter(Result::isLeft).count());
+		assertEquals(2L, results().stream().filter(Result::isRight).count());
+	}
+
+	/**
+	 * Test of getLeft and getRight methods, of class Result.
+	 */
+	@Test
+	public void testGetLeft() {
+		assertEquals(Integer.valueOf(1), Result.left(1).getLeft());
+		assertEquals("test", Result.right("test").getRight());
+		assertThrows(UnsupportedOperationException.class, () -> Result.right("test").getLeft());
+		assertThrows(UnsupportedOperationException.class, () -> Result.left("test").getRight());
+		assertThrows(IllegalArgumentException.class, () -> Result.left(null));
+		assertThrows(IllegalArgumentException.class, () -> Result.right(null));
+	}
+
+	/**
+	 * Test of map method, of class Result.
+	 */
+	@Test
+	public void testMap() {
+		assertEquals(Result.left("1"), Result.left(1).map(Object::toString, null));
+		assertEquals(Result.right("1"), Result.right(1).map(null, Object::toString));
+	}
+
+	/**
+	 * Test of flip method, of class Result.
+	 */
+	@Test
+	public void testFlip() {
+		assertEquals(Result.right(1), Result.left(1).flip());
+		assertEquals(Result.left(1), Result.right(1).flip());
+	}
+
+	/**
+	 * Test of from and toEither methods, of class Result.
+	 */
+	@Test
+	public void testEither() {
+		assertEquals(Result.left(1), Result.from(Either.left(1)));
+		assertEquals(Result.right(1), Result.from(Either.right(1)));
+		assertEquals(Either.left(1), Result.left(1).toEither());
+		assertEquals(Either.right(1), Result.right(1).toEither());
+	}
+
+	@Test
+	public void testEquals() {
+		final Result<String, String> right = Result.right("test");
+		final Result<String, String> left = Result.left("test");
+		assertTrue(right.equals(right));
+		assertTrue(left.equals(Result.left("test")));
+		assertFalse(left.equals(Result.left("test1")));
+		assertFalse(left.equals(right));
+		assertFalse(left.equals(null));
+		assertFalse(left.equals(Either.left("test")));
+		assertEquals(left.hashCode(), Result.left("test").hashCode());
+		assertNotEquals(left.hashCode(), right.hashCode());
+	}
+
+	@Test
+	public void testToString() {
+		assertEquals("Result{left=test}", Result.left("test").toString());
+		assertEquals("Result{right=test}", Result.right("test").toString());
+	}
+
+	@Test
+	public void testSerializable() throws Exception {
+		final Result<Integer, String> expected = Result.right("test");
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final ObjectOutputStream os = new ObjectOutputStream(baos);
+		os.writeObject(expected);
+		final ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+		assertEquals(expected, is.readObject());
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+@Tag("stress")
+public class SingleFlightStressTest {
+
+	private static final int KEYS = 8;
+
+	public SingleFlightStressTest() {
+	}
+
+	/**
+	 * Test of either method from many threads at once, of class SingleFlight. At
+	 * most one invocation may run for a key at a time.
+	 */
+	@Test
+	public void testEither() throws Exception {
+		final AtomicIntegerArray active = new AtomicIntegerArray(KEYS);
+		final CheckedFunction<Integer, Integer> square = key -> {
+			assertEquals(1, active.incrementAndGet(key));
+			Thread.yield();
+			active.decrementAndGet(key);
+			return key * key;
+		};
+		final SingleFlight<Integer, Integer> flight = square.singleFlight();
+		final int perThread = Stress.ITERATIONS / Stress.THREADS;
+		Stress.run(Stress.THREADS, thread -> {
+			for (int i = 0; i < perThread; i++) {
+				final int key = (thread + i) % KEYS;
+				assertEquals(Either.right(key * key), flight.either(key));
+			}
+		});
+		assertEquals((long) perThread * Stress.THREADS, flight.getCalls());
+		assertTrue(flight.getInvocations() <= flight.getCalls());
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class SingleFlightTest {
+
+	public SingleFlightTest() {
+	}
+
+	private static void awaitCalls(final SingleFlight<?, ?> flight, final long calls) throws InterruptedException {
+		while (flight.getCalls() < calls) {
+			Thread.sleep(1L);
+		}
+	}
+
+	/**
+	 * Test of either method, of class SingleFlight.
+	 */
+	@Test
+	public void testEither() throws Exception {
+		final AtomicInteger invocations = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+		final CheckedFunction<String, Integer> slow = key -> {
+			invocations.incrementAndGet();
+			release.await();
+			return key.length();
+		};
+		final SingleFlight<String, Integer> flight = slow.singleFlight();
+		assertEquals(0.0, flight.getCoalescingRatio());
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Either<Exception, Integer>>> futures = IntStream.range(0, 8)
+					.mapToObj(i -> executor.submit(() -> flight.either("key")))
+					.collect(Collectors.toList());
+			awaitCalls(flight, 8L);
+			release.countDown();
+			final Either<Exception, Integer> first = futures.get(0).get();
+			assertEquals(Either.right(3), first);
+			for (final Future<Either<Exception, Integer>> future : futures) {
+				assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, invocations.get());
+		assertEquals(8L, flight.getCalls());
+		assertEquals(1L, flight.getInvocations());
+		assertEquals(0.875, flight.getCoalescingRatio());
+		assertEquals("SingleFlight{calls=8, invocations=1}", flight.toString());
+
+		assertEquals(Integer.valueOf(4), flight.apply("keys"));
+		assertEquals(2, invocations.get());
+		assertThrows(NullPointerException.class, () -> flight.either(null));
+	}
+
+	/**
+	 * Test of applies method with a failing function, of class SingleFlight.
+	 */
+	@Test
+	public void testFailure() {
+		final IOException ex = new IOException("expected");
+		final CheckedFunction<String, Integer> failing = key -> {
+			throw ex;
+		};
+		final SingleFlight<String, Integer> flight = failing.singleFlight();
+		assertEquals(Either.left(ex), flight.either("key"));
+		assertSame(ex, assertThrows(IOException.class, () -> flight.applies("key")));
+
+		final CheckedFunction<String, Integer> erroring = key -> {
+			throw new AssertionError("expected");
+		};
+		assertThrows(AssertionError.class, () -> erroring.singleFlight().either("key"));
+	}
+
+	/**
+	 * Test of waiting callers which are interrupted or see an error, of class
+	 * SingleFlight.
+	 */
+	@Test
+	public void testWaiting() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CheckedFunction<String, Integer> blocking = key -> {
+			release.await();
+			throw new AssertionError("expected");
+		};
+		final SingleFlight<String, Integer> flight = blocking.singleFlight();
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<Either<Exception, Integer>> leader = executor.submit(() -> flight.either("key"));
+			awaitCalls(flight, 1L);
+			final Future<Either<Exception, Integer>> waiter = executor.submit(() -> flight.either("key"));
+			awaitCalls(flight, 2L);
+			Thread.currentThread().interrupt();
+			assertTrue(flight.either("key").getLeft() instanceof InterruptedException);
+			assertTrue(Thread.interrupted());
+			release.countDown();
+			assertTrue(assertThrows(Exception.class, leader::get).getCause() instanceof AssertionError);
+			assertTrue(assertThrows(Exception.class, waiter::get).getCause() instanceof AssertionError);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test of either method with a caller whose deadline passes during the
+	 * invocation, of class SingleFlight.
+	 */
+	@Test
+	public void testContext() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CheckedFunction<String, Integer> nested = key -> {
+			release.await();
+			final Either<Exception, Integer> inner = Try.either(() -> key.length());
+			if (inner.isLeft()) {
+				throw inner.getLeft();
+			}
+			return inner.getRight();
+		};
+		final SingleFlight<String, Integer> flight = nested.singleFlight();
+		final TryContext deadline = TryContext.withTimeout(Duration.ofMillis(50L));
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<Either<Exception, Integer>> leader = executor
+					.submit(() -> deadline.wrap(() -> flight.either("key")).get());
+			awaitCalls(flight, 1L);
+			final Future<Either<Exception, Integer>> waiter = executor.submit(() -> flight.either("key"));
+			awaitCalls(flight, 2L);
+			while (!deadline.isExpired()) {
+				Thread.sleep(1L);
+			}
+			release.countDown();
+			assertEquals(Either.right(3), leader.get());
+			assertEquals(Either.right(3), waiter.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1L, flight.getInvocations());
+		assertTrue(deadline.wrap(() -> flight.either("key")).get().getLeft() instanceof DeadlineExceededException);
+		assertEquals(1L, flight.getInvocations());
+	}
+
+	/**
+	 * Test of either method when the invoking caller is interrupted, of class
+	 * SingleFlight.
+	 */
+	@Test
+	public void testInvokerInterrupted() throws Exception {
+		final AtomicInteger invocations = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CheckedFunction<String, Integer> slowFirst = key -> {
+			if (invocations.incrementAndGet() == 1) {
+				started.countDown();
+				Thread.sleep(10_000L);
+			}
+			return key.length();
+		};
+		final SingleFlight<String, Integer> flight = slowFirst.singleFlight();
+		final AtomicReference<Either<Exception, Integer>> led = new AtomicReference<>();
+		final Thread leader = new Thread(() -> led.set(flight.either("key")));
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			leader.start();
+			started.await();
+			final Future<Either<Exception, Integer>> waiter = executor.submit(() -> flight.either("key"));
+			awaitCalls(flight, 2L);
+			leader.interrupt();
+			leader.join();
+			assertTrue(led.get().getLeft() instanceof InterruptedException);
+			assertEquals(Either.right(3), waiter.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(2, invocations.get());
+		assertEquals(2L, flight.getInvocations());
+	}
+}
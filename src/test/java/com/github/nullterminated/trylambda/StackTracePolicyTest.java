@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class StackTracePolicyTest {
+
+	public StackTracePolicyTest() {
+	}
+
+	/**
+	 * Test of always and never methods, of class StackTracePolicy.
+	 */
+	@Test
+	public void testAlwaysNever() {
+		final StackTracePolicy always = StackTracePolicy.always();
+		final StackTracePolicy never = StackTracePolicy.never();
+		assertTrue(always.capture(IOException.class));
+		assertFalse(never.capture(IOException.class));
+		assertEquals(1L, always.getCaptured());
+		assertEquals(1L, never.getSkipped());
+	}
+
+	/**
+	 * Test of sampled method, of class StackTracePolicy.
+	 */
+	@Test
+	public void testSampled() {
+		final StackTracePolicy burst = StackTracePolicy.sampled(0, 2, Duration.ofHours(1));
+		assertTrue(burst.capture(IOException.class));
+		assertTrue(burst.capture(IOException.class));
+		assertFalse(burst.capture(IOException.class));
+		assertTrue(burst.capture(Exception.class));
+
+		final StackTracePolicy window = StackTracePolicy.sampled(0, 1, Duration.ZERO);
+		assertTrue(window.capture(IOException.class));
+		assertTrue(window.capture(IOException.class));
+
+		final StackTracePolicy half = StackTracePolicy.sampled(2, 0, Duration.ZERO);
+		final long captured = IntStream.range(0, 10_000).filter(i -> half.capture(IOException.class)).count();
+		assertTrue(captured > 4000L && captured < 6000L, Long.toString(captured));
+		assertEquals(10_000L, half.getCaptured() + half.getSkipped());
+
+		assertThrows(IllegalArgumentException.class, () -> StackTracePolicy.sampled(-1, 0, Duration.ZERO));
+		assertThrows(IllegalArgumentException.class, () -> StackTracePolicy.sampled(0, -1, Duration.ZERO));
+		assertThrows(IllegalArgumentException.class, () -> StackTracePolicy.sampled(0, 0, Duration.ofMillis(-1)));
+	}
+
+	/**
+	 * Test of fromSystemProperties method, of class StackTracePolicy.
+	 */
+	@Test
+	public void testFromSystemProperties() {
+		final String key = "com.github.nullterminated.trylambda.stackTraceSampleRate";
+		assertTrue(StackTracePolicy.fromSystemProperties().capture(IOException.class));
+		System.setProperty(key, "0");
+		try {
+			assertFalse(StackTracePolicy.fromSystemProperties().capture(IOException.class));
+			System.setProperty(key, "-1");
+			assertEquals(StackTracePolicy.always().toString(), StackTracePolicy.fromSystemProperties().toString());
+			System.setProperty(key, "x");
+			assertTrue(StackTracePolicy.fromSystemProperties().capture(IOException.class));
+		} finally {
+			System.clearProperty(key);
+		}
+	}
+
+	/**
+	 * Test of get and set methods, of class StackTracePolicy.
+	 */
+	@Test
+	public void testSet() {
+		final StackTracePolicy original = StackTracePolicy.get();
+		final StackTracePolicy never = StackTracePolicy.never();
+		StackTracePolicy.set(never);
+		try {
+			assertEquals(never, StackTracePolicy.get());
+			assertTrue(never.toString().startsWith("StackTracePolicy{"));
+			assertThrows(NullPointerException.class, () -> StackTracePolicy.set(null));
+		} finally {
+			StackTracePolicy.set(original);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Support for the stress tests, which are tagged stress and run with the
+ * stress profile.
+ *
+ * @author Ramsey Gurley
+ */
+final class Stress {
+
+	/**
+	 * The number of threads, set by the stress.threads property.
+	 */
+	static final int THREADS = Integer.getInteger("stress.threads",
+			Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * The number of iterations, set by the stress.iterations property.
+	 */
+	static final int ITERATIONS = Integer.getInteger("stress.iterations", 100_000);
+
+	private Stress() {
+	}
+
+	/**
+	 * Run a body on several threads, released together, and wait for them all.
+	 *
+	 * @param threads the number of threads
+	 * @param body    the body, which accepts the index of its thread
+	 * @throws Exception the first exception thrown by a body
+	 */
+	static void run(final int threads, final CheckedConsumer<Integer> body) throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier(threads);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final List<Thread> list = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			final int index = i;
+			final Thread thread = new Thread(() -> {
+				try {
+					barrier.await();
+					body.accepts(index);
+				} catch (final Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}, "stress-" + i);
+			list.add(thread);
+			thread.start();
+		}
+		for (final Thread thread : list) {
+			thread.join();
+		}
+		final Throwable t = failure.get();
+		if (t instanceof Error) {
+			throw (Error) t;
+		}
+		if (t != null) {
+			throw (Exception) t;
+		}
+	}
+}
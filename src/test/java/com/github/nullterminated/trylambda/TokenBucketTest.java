@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class TokenBucketTest {
+
+	public TokenBucketTest() {
+	}
+
+	/**
+	 * Test of reserve method, of class TokenBucket.
+	 */
+	@Test
+	public void testReserve() {
+		final AtomicLong clock = new AtomicLong();
+		final TokenBucket bucket = new TokenBucket(3.0, clock::get);
+		assertEquals(0L, bucket.reserve(0L));
+		assertEquals(0L, bucket.reserve(0L));
+		assertEquals(0L, bucket.reserve(0L));
+		assertTrue(bucket.reserve(0L) < 0L);
+		assertEquals(333_333_333L, bucket.reserve(TimeUnit.SECONDS.toNanos(1L)));
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(10L));
+		assertEquals(0L, bucket.reserve(0L));
+		assertEquals(0L, bucket.reserve(0L));
+		assertEquals(0L, bucket.reserve(0L));
+		assertTrue(bucket.reserve(0L) < 0L);
+
+		final TokenBucket slow = new TokenBucket(0.5, clock::get);
+		assertEquals(0L, slow.reserve(0L));
+		assertTrue(slow.reserve(0L) < 0L);
+		assertTrue(new TokenBucket(1.0).reserve(0L) >= 0L);
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(-1.0));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(Double.NaN));
+	}
+
+	/**
+	 * Test of refund method, of class TokenBucket.
+	 */
+	@Test
+	public void testRefund() {
+		final AtomicLong clock = new AtomicLong();
+		final TokenBucket bucket = new TokenBucket(1.0, clock::get);
+		assertEquals(0L, bucket.reserve(0L));
+		assertTrue(bucket.reserve(0L) < 0L);
+		bucket.refund();
+		assertEquals(0L, bucket.reserve(0L));
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(10L));
+		bucket.refund();
+		assertEquals(0L, bucket.reserve(0L));
+		assertTrue(bucket.reserve(0L) < 0L);
+	}
+
+	/**
+	 * Test of limit method, of class TokenBucket.
+	 */
+	@Test
+	public void testLimit() throws Exception {
+		final AtomicLong clock = new AtomicLong();
+		final TokenBucket bucket = new TokenBucket(1.0, clock::get);
+		final CheckedFunction<Integer, Integer> limited = bucket.limit(i -> i + 1, 0L);
+		assertEquals(Integer.valueOf(2), limited.applies(1));
+		assertThrows(RejectedException.class, () -> limited.applies(1));
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1L));
+		assertEquals(Integer.valueOf(2), limited.applies(1));
+
+		final CheckedFunction<Integer, Integer> waiting = bucket.limit(i -> i + 1, TimeUnit.SECONDS.toNanos(5L));
+		Thread.currentThread().interrupt();
+		assertThrows(InterruptedException.class, () -> waiting.applies(1));
+		assertTrue(bucket.reserve(0L) < 0L);
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1L));
+		assertEquals(Integer.valueOf(2), limited.applies(1));
+	}
+}
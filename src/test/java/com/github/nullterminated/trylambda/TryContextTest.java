@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class TryContextTest {
+
+	public TryContextTest() {
+	}
+
+	/**
+	 * Test of either method, of class TryContext.
+	 */
+	@Test
+	public void testEither() {
+		final TryContext context = TryContext.withTimeout(Duration.ofMinutes(1));
+		assertNull(TryContext.current());
+		assertEquals(Either.right(1), context.either(() -> {
+			assertSame(context, TryContext.current());
+			return 1;
+		}));
+		assertNull(TryContext.current());
+
+		final Either<Exception, Integer> expired = TryContext.withTimeout(Duration.ofMinutes(-1)).either(() -> 1);
+		assertEquals("Deadline exceeded.", expired.getLeft().getMessage());
+	}
+
+	/**
+	 * Test of nested contexts, of class TryContext.
+	 */
+	@Test
+	public void testNested() {
+		final TryContext outer = TryContext.create();
+		assertNull(outer.getRemaining());
+		outer.either(() -> {
+			final TryContext inner = TryContext.withTimeout(Duration.ofDays(365 * 1000));
+			assertTrue(inner.getRemaining().compareTo(Duration.ofDays(1)) > 0);
+			inner.either(() -> {
+				final TryContext innermost = TryContext.withTimeout(Duration.ofSeconds(10));
+				assertTrue(innermost.getRemaining().compareTo(Duration.ofSeconds(10)) <= 0);
+				assertSame(inner, TryContext.current());
+				outer.cancel();
+				assertTrue(innermost.isCancelled());
+				final Exception left = Try.either(() -> 1).getLeft();
+				assertEquals("Context was cancelled.", left.getMessage());
+				return left;
+			}).getRight();
+			assertSame(outer, TryContext.current());
+			return 1;
+		});
+		final TryContext parent = TryContext.withTimeout(Duration.ofSeconds(1));
+		parent.either(() -> {
+			final TryContext child = TryContext.withTimeout(Duration.ofMinutes(1));
+			assertTrue(child.getRemaining().compareTo(Duration.ofSeconds(1)) <= 0);
+			assertFalse(child.isExpired());
+			assertFalse(child.isCancelled());
+			return child;
+		});
+	}
+
+	/**
+	 * Test of trys and withResource methods within a context, of class
+	 * TryContext.
+	 */
+	@Test
+	public void testTrys() {
+		final TryContext context = TryContext.withTimeout(Duration.ZERO);
+		final AtomicReference<Exception> handled = new AtomicReference<>();
+		assertEquals(Integer.valueOf(1), context.wrap(() -> Try.trys(ByteArrayOutputStream::new, e -> {
+			handled.set(e);
+			return () -> 1;
+		}, os -> () -> 2).get()).get());
+		assertTrue(handled.get() instanceof DeadlineExceededException);
+		assertTrue(Try.either(context.wrap(() -> Try.withResource(ByteArrayOutputStream::new, os -> 1)))
+				.getLeft() instanceof DeadlineExceededException);
+		assertTrue(context.wrap(() -> Try.withResourceEither(ByteArrayOutputStream::new, os -> 1)).get()
+				.getLeft() instanceof DeadlineExceededException);
+		assertTrue(context.wrap(() -> Try.either(() -> 1)).get().getLeft() instanceof DeadlineExceededException);
+	}
+
+	/**
+	 * Test of wrap methods, of class TryContext.
+	 */
+	@Test
+	public void testWrap() throws Exception {
+		final TryContext context = TryContext.create();
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final AtomicReference<TryContext> seen = new AtomicReference<>();
+			executor.submit(context.wrap(() -> seen.set(TryContext.current()))).get();
+			assertSame(context, seen.get());
+			assertSame(context, executor.submit(() -> context.wrap(TryContext::current).get()).get());
+			assertNull(executor.submit(TryContext::current).get());
+			context.either(() -> context.wrap(() -> 1).get());
+		} finally {
+			executor.shutdown();
+		}
+		assertThrows(NullPointerException.class, () -> context.wrap((Runnable) null));
+		assertThrows(NullPointerException.class, () -> context.wrap((CheckedSupplier<?>) null));
+	}
+}
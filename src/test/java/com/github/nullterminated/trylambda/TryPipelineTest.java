@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class TryPipelineTest {
+
+	public TryPipelineTest() {
+	}
+
+	private static Integer decode(final String s) throws IOException, InterruptedException {
+		if (s.isEmpty()) {
+			throw new IOException("empty");
+		}
+		Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+		return Integer.valueOf(s);
+	}
+
+	/**
+	 * Test of an ordered pipeline, of class TryPipeline.
+	 */
+	@Test
+	public void testOrdered() throws Exception {
+		try (TryPipeline<String, Integer> pipeline = TryPipeline.<String>builder()
+				.stage("decode", TryPipelineTest::decode, 4)
+				.stage("double", i -> i * 2, 2)
+				.build(8, true)) {
+			final Thread producer = new Thread(() -> {
+				try {
+					for (int i = 0; i < 100; i++) {
+						pipeline.put(i % 10 == 0 ? "" : Integer.toString(i));
+					}
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			producer.start();
+			for (int i = 0; i < 100; i++) {
+				final Either<Exception, Integer> result = pipeline.take();
+				if (i % 10 == 0) {
+					assertEquals("empty", result.getLeft().getMessage());
+				} else {
+					assertEquals(Either.right(i * 2), result);
+				}
+			}
+			producer.join();
+			final List<TryPipeline.Stage> stages = pipeline.getStages();
+			assertEquals(2, stages.size());
+			assertEquals("decode", stages.get(0).getName());
+			assertEquals(4, stages.get(0).getThreads());
+			assertEquals(100L, stages.get(0).getProcessed());
+			assertEquals(10L, stages.get(0).getFailures());
+			assertEquals(90L, stages.get(1).getProcessed());
+			assertEquals(0L, stages.get(1).getFailures());
+			assertEquals(0, stages.get(1).getQueueDepth());
+			assertTrue(stages.get(0).getThroughput() > 0.0);
+			assertTrue(pipeline.toString().contains("Stage{name=double, threads=2, processed=90, failures=0"));
+		}
+	}
+
+	/**
+	 * Test of an unordered pipeline, of class TryPipeline.
+	 */
+	@Test
+	public void testUnordered() throws Exception {
+		try (TryPipeline<String, Integer> pipeline = TryPipeline.<String>builder()
+				.stage("decode", TryPipelineTest::decode, 4)
+				.build(100, false)) {
+			for (int i = 0; i < 50; i++) {
+				pipeline.put(Integer.toString(i));
+			}
+			final List<Integer> results = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				results.add(pipeline.take().getRight());
+			}
+			Collections.sort(results);
+			assertEquals(IntStream.range(0, 50).boxed().collect(Collectors.toList()), results);
+		}
+	}
+
+	/**
+	 * Test of put method when interrupted, of class TryPipeline.
+	 */
+	@Test
+	public void testPutInterrupted() throws Exception {
+		try (TryPipeline<String, String> pipeline = TryPipeline.<String>builder()
+				.stage("identity", s -> s, 1)
+				.build(1, true)) {
+			Thread.currentThread().interrupt();
+			assertThrows(InterruptedException.class, () -> pipeline.put("lost"));
+			pipeline.put("a");
+			pipeline.put("b");
+			assertEquals(Either.right("a"), pipeline.take());
+			assertEquals(Either.right("b"), pipeline.take());
+		}
+
+		final CountDownLatch release = new CountDownLatch(1);
+		try (TryPipeline<String, String> pipeline = TryPipeline.<String>builder()
+				.stage("blocked", s -> {
+					release.await();
+					return s;
+				}, 1)
+				.stage("identity", s -> s, 1)
+				.build(1, true)) {
+			pipeline.put("a");
+			pipeline.put("b");
+			final AtomicReference<Exception> thrown = new AtomicReference<>();
+			final Thread putter = new Thread(() -> thrown.set(Try.either(() -> {
+				pipeline.put("lost");
+				return 1;
+			}).reduce(e -> e, i -> null)));
+			putter.start();
+			while (putter.getState() != Thread.State.WAITING) {
+				Thread.sleep(1L);
+			}
+			putter.interrupt();
+			putter.join();
+			assertTrue(thrown.get() instanceof InterruptedException);
+			release.countDown();
+			pipeline.put("c");
+			assertEquals(Either.right("a"), pipeline.take());
+			assertEquals(Either.right("b"), pipeline.take());
+			assertEquals(Either.right("c"), pipeline.take());
+		}
+	}
+
+	/**
+	 * Test of a stage throwing an error, of class TryPipeline.
+	 */
+	@Test
+	public void testError() throws Exception {
+		try (TryPipeline<String, String> pipeline = TryPipeline.<String>builder()
+				.stage("check", s -> {
+					if (s.isEmpty()) {
+						throw new AssertionError("expected");
+					}
+					return s;
+				}, 1)
+				.build(1, true)) {
+			pipeline.put("");
+			pipeline.put("a");
+			final Exception error = pipeline.take().getLeft();
+			assertTrue(error instanceof ExecutionException);
+			assertTrue(error.getCause() instanceof AssertionError);
+			assertEquals(Either.right("a"), pipeline.take());
+			assertEquals(1L, pipeline.getStages().get(0).getFailures());
+		}
+	}
+
+	/**
+	 * Test of a stage throwing a virtual machine error, of class TryPipeline.
+	 */
+	@Test
+	public void testVirtualMachineError() throws Exception {
+		final Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+		final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+		final CountDownLatch died = new CountDownLatch(1);
+		Thread.setDefaultUncaughtExceptionHandler((t, e) -> {
+			uncaught.set(e);
+			died.countDown();
+		});
+		try (TryPipeline<String, String> pipeline = TryPipeline.<String>builder()
+				.<String>stage("overflow", s -> {
+					throw new StackOverflowError("expected");
+				}, 1)
+				.build(1, true)) {
+			pipeline.put("a");
+			assertEquals("expected", assertThrows(StackOverflowError.class, pipeline::take).getMessage());
+			assertThrows(StackOverflowError.class, () -> pipeline.put("b"));
+			assertTrue(died.await(5, TimeUnit.SECONDS));
+			assertTrue(uncaught.get() instanceof StackOverflowError);
+		} finally {
+			Thread.setDefaultUncaughtExceptionHandler(handler);
+		}
+	}
+
+	private static Thread waiting(final List<Exception> thrown, final CheckedRunnable runnable)
+			throws InterruptedException {
+		final Thread thread = new Thread(() -> thrown.add(Try.either(() -> {
+			runnable.runs();
+			return 1;
+		}).reduce(e -> e, i -> null)));
+		thread.start();
+		while (thread.getState() != Thread.State.WAITING) {
+			Thread.sleep(1L);
+		}
+		return thread;
+	}
+
+	/**
+	 * Test of close method with waiting threads, of class TryPipeline.
+	 */
+	@Test
+	public void testClose() throws Exception {
+		for (final boolean ordered : new boolean[] { true, false }) {
+			final TryPipeline<String, String> pipeline = TryPipeline.<String>builder()
+					.stage("identity", s -> s, 1)
+					.build(1, ordered);
+			final List<Exception> thrown = Collections.synchronizedList(new ArrayList<>());
+			final List<Thread> threads = new ArrayList<>();
+			threads.add(waiting(thrown, pipeline::take));
+			threads.add(waiting(thrown, pipeline::take));
+			pipeline.close();
+			for (final Thread thread : threads) {
+				thread.join(5_000L);
+				assertFalse(thread.isAlive());
+			}
+			assertEquals(2, thrown.size());
+			thrown.forEach(e -> assertTrue(e instanceof CancellationException));
+			assertThrows(CancellationException.class, () -> pipeline.put("a"));
+			assertThrows(CancellationException.class, pipeline::take);
+			pipeline.close();
+		}
+
+		final TryPipeline<String, String> full = TryPipeline.<String>builder()
+				.stage("identity", s -> s, 1)
+				.build(1, true);
+		full.put("a");
+		full.put("b");
+		final List<Exception> thrown = Collections.synchronizedList(new ArrayList<>());
+		final Thread putter = waiting(thrown, () -> full.put("c"));
+		full.close();
+		putter.join(5_000L);
+		assertFalse(putter.isAlive());
+		assertTrue(thrown.get(0) instanceof CancellationException);
+	}
+
+	/**
+	 * Test of the builder, of class TryPipeline.
+	 */
+	@Test
+	public void testBuilder() {
+		final TryPipeline.Builder<String, String> empty = TryPipeline.builder();
+		assertThrows(IllegalArgumentException.class, () -> empty.build(1, false));
+		assertThrows(IllegalArgumentException.class, () -> empty.stage("s", s -> s, 0));
+		assertThrows(IllegalArgumentException.class, () -> empty.stage("s", s -> s, 1).build(0, false));
+	}
+}
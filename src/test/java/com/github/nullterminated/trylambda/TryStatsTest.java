@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+public class TryStatsTest {
+
+	public TryStatsTest() {
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TryStats.clear();
+	}
+
+	/**
+	 * Test of record and snapshot methods, of class TryStats.
+	 */
+	@Test
+	public void testSnapshot() {
+		final TryStats stats = TryStats.of("test");
+		stats.record(Either.right(1), 1000L);
+		stats.record(Either.right(1), 2000L);
+		stats.record(Either.left(new IOException()), 3000L);
+		stats.record(Either.left(new IOException()), 3000L);
+		stats.record(Either.left(new IllegalStateException()), 1_000_000L);
+		final TryStats.Snapshot snapshot = stats.snapshot();
+		assertEquals("test", snapshot.getName());
+		assertEquals(2L, snapshot.getSuccesses());
+		assertEquals(3L, snapshot.getFailures());
+		assertEquals(Long.valueOf(2L), snapshot.getFailuresByType().get(IOException.class.getName()));
+		assertEquals(Long.valueOf(1L), snapshot.getFailuresByType().get(IllegalStateException.class.getName()));
+		assertTrue(snapshot.getP50() >= 3000L && snapshot.getP50() < 3100L);
+		assertTrue(snapshot.getP90() >= 1_000_000L);
+		assertTrue(snapshot.getP99() >= snapshot.getP90());
+		assertTrue(snapshot.getMax() >= snapshot.getP99());
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.getFailuresByType().clear());
+	}
+
+	/**
+	 * Test of of method, of class TryStats.
+	 */
+	@Test
+	public void testOf() {
+		assertEquals(TryStats.of("a"), TryStats.of("a"));
+		assertEquals("a", TryStats.of("a").getName());
+		assertThrows(NullPointerException.class, () -> TryStats.of(null));
+	}
+
+	/**
+	 * Test of snapshots, dump and toJson methods, of class TryStats.
+	 */
+	@Test
+	public void testDump() {
+		TryStats.of("b").record(Either.right(1), 10L);
+		TryStats.of("a\"\\\t").record(Either.left(new IOException()), 10L);
+		final List<String> names = TryStats.snapshots().stream().map(TryStats.Snapshot::getName)
+				.collect(Collectors.toList());
+		assertTrue(names.indexOf("a\"\\\t") < names.indexOf("b"));
+		assertTrue(TryStats.dump().contains("\nb successes=1 failures=0"), TryStats.dump());
+		final String json = TryStats.toJson();
+		assertTrue(json.startsWith("[{") && json.endsWith("}]"), json);
+		assertTrue(json.contains("{\"name\":\"a\\\"\\\\\\u0009\",\"successes\":0,\"failures\":1,"
+				+ "\"failuresByType\":{\"java.io.IOException\":1},\"p50\":10,\"p90\":10,\"p99\":10,\"max\":10}"), json);
+		assertTrue(json.contains("{\"name\":\"b\",\"successes\":1,\"failures\":0,\"failuresByType\":{},"
+				+ "\"p50\":10,\"p90\":10,\"p99\":10,\"max\":10}"), json);
+		TryStats.clear();
+		assertTrue(TryStats.toJson().contains("{\"name\":\"b\",\"successes\":0,\"failures\":0,\"failuresByType\":{},"
+				+ "\"p50\":0,\"p90\":0,\"p99\":0,\"max\":0}"));
+	}
+
+	/**
+	 * Test of clear method, of class TryStats.
+	 */
+	@Test
+	public void testClear() {
+		final NamedTry named = Try.named("clear");
+		named.either(() -> 1);
+		named.either(() -> {
+			throw new IOException();
+		});
+		TryStats.clear();
+		final TryStats.Snapshot cleared = TryStats.of("clear").snapshot();
+		assertEquals(0L, cleared.getSuccesses());
+		assertEquals(0L, cleared.getFailures());
+		assertTrue(cleared.getFailuresByType().isEmpty());
+		assertEquals(0L, cleared.getMax());
+		named.either(() -> 1);
+		assertEquals(1L, TryStats.of("clear").snapshot().getSuccesses());
+	}
+
+	/**
+	 * Test of registerMBean method, of class TryStats.
+	 */
+	@Test
+	public void testRegisterMBean() throws Exception {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName name = TryStats.registerMBean();
+		try {
+			assertThrows(InstanceAlreadyExistsException.class, () -> TryStats.registerMBean());
+			Try.named("mbean").either(() -> 1);
+			Try.named("mbean").either(() -> {
+				throw new IOException();
+			});
+			assertTrue(Arrays.asList((String[]) server.getAttribute(name, "Names")).contains("mbean"));
+			assertEquals(TryStats.dump(), server.getAttribute(name, "Dump"));
+			assertEquals(TryStats.toJson(), server.getAttribute(name, "Json"));
+			final String[] signature = { String.class.getName() };
+			assertEquals(1L, server.invoke(name, "getSuccesses", new Object[] { "mbean" }, signature));
+			assertEquals(1L, server.invoke(name, "getFailures", new Object[] { "mbean" }, signature));
+			assertEquals(0L, server.invoke(name, "getSuccesses", new Object[] { "unknown" }, signature));
+			assertEquals(0L, server.invoke(name, "getFailures", new Object[] { "unknown" }, signature));
+			assertFalse(Arrays.asList((String[]) server.getAttribute(name, "Names")).contains("unknown"));
+			server.invoke(name, "clear", new Object[0], new String[0]);
+			assertEquals(0L, server.invoke(name, "getSuccesses", new Object[] { "mbean" }, signature));
+		} finally {
+			server.unregisterMBean(name);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+@Tag("stress")
+public class TryStressTest {
+
+	public TryStressTest() {
+	}
+
+	static final class Resource implements AutoCloseable {
+
+		final AtomicInteger closes = new AtomicInteger();
+
+		@Override
+		public void close() {
+			closes.incrementAndGet();
+		}
+	}
+
+	private static Integer work(final Resource resource) throws InterruptedException {
+		if (ThreadLocalRandom.current().nextBoolean()) {
+			Thread.sleep(0L, 1000);
+		}
+		return 1;
+	}
+
+	/**
+	 * Test of trys and withResource methods while threads are interrupted at
+	 * random, of class Try. Each resource must be closed exactly once.
+	 */
+	@Test
+	public void testTrysInterrupted() throws Exception {
+		final int perThread = Stress.ITERATIONS / Stress.THREADS / 10;
+		final Resource[][] resources = new Resource[Stress.THREADS][perThread * 2];
+		final AtomicInteger finished = new AtomicInteger();
+		final AtomicReferenceArray<Thread> workers = new AtomicReferenceArray<>(Stress.THREADS);
+		Stress.run(Stress.THREADS + 1, thread -> {
+			if (thread == Stress.THREADS) {
+				while (finished.get() < Stress.THREADS) {
+					final Thread worker = workers.get(ThreadLocalRandom.current().nextInt(Stress.THREADS));
+					if (worker != null) {
+						worker.interrupt();
+					}
+					Thread.yield();
+				}
+				return;
+			}
+			workers.set(thread, Thread.currentThread());
+			try {
+				for (int i = 0; i < perThread; i++) {
+					final Resource first = new Resource();
+					final Resource second = new Resource();
+					resources[thread][2 * i] = first;
+					resources[thread][2 * i + 1] = second;
+					final Either<Exception, Integer> trys = Try.either(() -> Try.trys(() -> first, r -> () -> work(r)).get());
+					assertTrue(trys.isRight() || trys.getLeft() instanceof InterruptedException);
+					final Either<Exception, Integer> with = Try.withResourceEither(() -> second, TryStressTest::work);
+					assertTrue(with.isRight() || with.getLeft() instanceof InterruptedException);
+				}
+			} finally {
+				Thread.interrupted();
+				finished.incrementAndGet();
+			}
+		});
+		for (final Resource[] row : resources) {
+			for (final Resource resource : row) {
+				assertEquals(1, resource.closes.get());
+			}
+		}
+	}
+
+	/**
+	 * Test of offload method from many threads at once, of class Try.
+	 */
+	@Test
+	public void testOffload() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		final int perThread = Stress.ITERATIONS / Stress.THREADS / 10;
+		Stress.run(Stress.THREADS, thread -> {
+			for (int i = 0; i < perThread; i++) {
+				final int value = i;
+				assertEquals(Either.right(value), Try.offload(() -> {
+					calls.incrementAndGet();
+					return value;
+				}));
+			}
+		});
+		assertEquals(perThread * Stress.THREADS, calls.get());
+	}
+}
@@ -23,9 +23,28 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -107,4 +126,525 @@ public class TryTest {
 		}));
 		assertEquals(Either.left(EX), either(supplier));
 	}
+
+	private static final CheckedFunction<String, Integer> PARSE = Integer::parseInt;
+	private static final BiFunction<String, Exception, String> ON_FAILURE = (s, e) -> s + ":"
+			+ e.getClass().getSimpleName();
+	private static final BiFunction<String, Integer, String> ON_SUCCESS = (s, i) -> s + "=" + i;
+
+	/**
+	 * Test of fold method, of class Try.
+	 */
+	@Test
+	public void testFold() {
+		assertEquals("1", Try.fold(() -> 1, e -> "failed", String::valueOf));
+		assertEquals("failed", Try.fold(() -> {
+			throw EX;
+		}, e -> e == EX ? "failed" : "other", String::valueOf));
+		final CheckedSupplier<Integer> wrapped = () -> {
+			throw EX;
+		};
+		assertEquals("failed", Try.fold(wrapped::get, e -> e == EX ? "failed" : "other", String::valueOf));
+		assertEquals("12=12", Try.fold("12", PARSE, ON_FAILURE, ON_SUCCESS));
+		assertEquals("x:NumberFormatException", Try.fold("x", PARSE, ON_FAILURE, ON_SUCCESS));
+		assertEquals("IllegalArgumentException", Try.fold(() -> null, e -> e.getClass().getSimpleName(),
+				String::valueOf));
+		assertEquals(either(() -> null).getLeft().getMessage(), Try.fold(() -> null, Exception::getMessage,
+				String::valueOf));
+		assertEquals("n:IllegalArgumentException", Try.fold("n", s -> null, ON_FAILURE, ON_SUCCESS));
+
+		final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+		assertEquals("DeadlineExceededException", expired.wrap(() -> Try.fold(() -> 1,
+				e -> e.getClass().getSimpleName(), String::valueOf)).get());
+		assertEquals("1:DeadlineExceededException", expired.wrap(() -> Try.fold("1", PARSE, ON_FAILURE, ON_SUCCESS))
+				.get());
+	}
+
+	/**
+	 * Test of foldInt method, of class Try.
+	 */
+	@Test
+	public void testFoldInt() {
+		assertEquals(2, Try.foldInt(() -> "ab", e -> -1, String::length));
+		assertEquals(-1, Try.foldInt(() -> {
+			throw EX;
+		}, e -> -1, String::length));
+		assertEquals(12, Try.foldInt("12", PARSE, (s, e) -> -1, (s, i) -> i));
+		assertEquals(-1, Try.foldInt("x", PARSE, (s, e) -> -1, (s, i) -> i));
+		assertEquals(-1, Try.foldInt(() -> null, e -> e instanceof IllegalArgumentException ? -1 : 0, i -> 1));
+		assertEquals(-1, Try.foldInt("n", s -> null, (s, e) -> e instanceof IllegalArgumentException ? -1 : 0,
+				(s, i) -> 1));
+
+		final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+		assertEquals(Integer.valueOf(-1), expired.wrap(() -> Try.foldInt(() -> "ab", e -> -1, String::length)).get());
+		assertEquals(Integer.valueOf(-1), expired.wrap(() -> Try.foldInt("12", PARSE, (s, e) -> -1, (s, i) -> i))
+				.get());
+	}
+
+	/**
+	 * Test of either method with an exception type, of class Try.
+	 */
+	@Test
+	public void testEitherTyped() {
+		final IOException io = new IOException("expected");
+		assertEquals(Either.right(1), Try.either(IOException.class, () -> 1));
+		final Either<IOException, Integer> failed = Try.either(IOException.class, () -> {
+			throw io;
+		});
+		assertSame(io, failed.getLeft());
+		final CheckedSupplier<Integer> checked = () -> {
+			throw io;
+		};
+		assertSame(io, Try.either(IOException.class, checked::get).getLeft());
+		assertSame(io, Try.either(Exception.class, checked).getLeft());
+		final IllegalStateException runtime = new IllegalStateException("expected");
+		assertSame(runtime, assertThrows(IllegalStateException.class, () -> Try.either(IOException.class, () -> {
+			throw runtime;
+		})));
+		final CheckedFunction<String, Integer> function = String::length;
+		final ThrowingFunction<String, Integer, IOException> throwing = s -> function.apply(s);
+		final CheckedFunction<String, Integer> converted = throwing::applies;
+		assertEquals(Integer.valueOf(4), converted.apply("test"));
+
+		final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+		assertTrue(assertThrows(WrappedException.class,
+				() -> expired.wrap(() -> Try.either(IOException.class, () -> 1)).get())
+				.getCause() instanceof DeadlineExceededException);
+		assertTrue(expired.wrap(() -> Try.either(DeadlineExceededException.class, () -> 1)).get()
+				.getLeft() instanceof DeadlineExceededException);
+	}
+
+	/**
+	 * Test of hedged method, of class Try.
+	 */
+	@Test
+	public void testHedged() throws Exception {
+		final ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			final HedgePolicy policy = new HedgePolicy(Duration.ofMillis(20));
+			final AtomicInteger calls = new AtomicInteger();
+			final CountDownLatch interrupted = new CountDownLatch(1);
+			final CheckedSupplier<Integer> slowFirst = () -> {
+				final int call = calls.getAndIncrement();
+				if (call == 0) {
+					try {
+						Thread.sleep(10_000L);
+					} catch (final InterruptedException e) {
+						interrupted.countDown();
+						throw e;
+					}
+				}
+				return call;
+			};
+			assertEquals(Either.right(1), Try.hedged(slowFirst, policy, 2, executor));
+			assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+			assertEquals(1L, policy.getCalls());
+			assertEquals(1L, policy.getHedges());
+			assertEquals(1L, policy.getHedgeWins());
+
+			assertEquals(Either.right(1), Try.hedged(() -> 1, Duration.ofSeconds(10), 2, executor));
+
+			final AtomicInteger failures = new AtomicInteger();
+			final Either<Exception, Integer> failed = Try.hedged(() -> {
+				throw new IOException(Integer.toString(failures.incrementAndGet()));
+			}, Duration.ofSeconds(10), 2, executor);
+			assertEquals("3", failed.getLeft().getMessage());
+			assertEquals(3, failures.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertTrue(Try.hedged(() -> 1, Duration.ZERO, 0, executor).getLeft() instanceof RejectedExecutionException);
+		assertThrows(IllegalArgumentException.class, () -> Try.hedged(() -> 1, Duration.ZERO, -1, Runnable::run));
+	}
+
+	/**
+	 * Test of hedged method when the calling thread is interrupted, of class Try.
+	 */
+	@Test
+	public void testHedgedInterrupted() {
+		final ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Thread.currentThread().interrupt();
+			final Either<Exception, Integer> result = Try.hedged(() -> {
+				Thread.sleep(10_000L);
+				return 1;
+			}, Duration.ofSeconds(10), 1, executor);
+			assertTrue(Thread.interrupted());
+			assertTrue(result.getLeft() instanceof InterruptedException);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test of hedged method with a TryContext, of class Try.
+	 */
+	@Test
+	public void testHedgedContext() {
+		final ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			final TryContext context = TryContext.create();
+			final Either<Exception, TryContext> current = context
+					.wrap(() -> Try.hedged(TryContext::current, Duration.ofSeconds(10), 1, executor)).get();
+			assertSame(context, current.getRight());
+
+			final AtomicInteger calls = new AtomicInteger();
+			final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+			final Either<Exception, Integer> result = expired
+					.wrap(() -> Try.hedged(calls::incrementAndGet, Duration.ofSeconds(10), 1, executor)).get();
+			assertTrue(result.getLeft() instanceof DeadlineExceededException);
+			assertEquals(0, calls.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test of traverse method, of class Try.
+	 */
+	@Test
+	public void testTraverse() {
+		final List<Integer> list = IntStream.range(0, 1_000_000).boxed().collect(Collectors.toList());
+		final Either<Exception, List<Integer>> doubled = Try.traverse(list, i -> i * 2);
+		assertEquals(1_000_000, doubled.getRight().size());
+		assertEquals(Integer.valueOf(1_999_998), doubled.getRight().get(999_999));
+		assertThrows(UnsupportedOperationException.class, () -> doubled.getRight().add(0));
+
+		final AtomicInteger calls = new AtomicInteger();
+		assertEquals(Either.left(EX), Try.traverse(list, i -> {
+			if (calls.incrementAndGet() == 10) {
+				throw EX;
+			}
+			return i;
+		}));
+		assertEquals(10, calls.get());
+		assertEquals(Either.right(Collections.emptyList()), Try.traverse(Collections.emptyList(), i -> i));
+	}
+
+	/**
+	 * Test of firstSuccess method, of class Try.
+	 */
+	@Test
+	public void testFirstSuccess() {
+		final AtomicInteger calls = new AtomicInteger();
+		final IOException miss = new IOException("miss");
+		final FirstSuccess<Integer> hit = Try.firstSuccess(() -> {
+			throw miss;
+		}, () -> calls.incrementAndGet(), () -> calls.incrementAndGet());
+		assertEquals(Either.right(1), hit.getResult());
+		assertEquals(Collections.singletonList(miss), hit.getFailures());
+		assertEquals(1, calls.get());
+		assertTrue(hit.toString().startsWith("FirstSuccess{result="));
+
+		final FirstSuccess<Integer> failed = Try.firstSuccess(() -> {
+			throw miss;
+		}, () -> {
+			throw EX;
+		});
+		assertEquals(Either.left(EX), failed.getResult());
+		assertEquals(Collections.singletonList(miss), failed.getFailures());
+		assertThrows(IllegalArgumentException.class, () -> Try.<Integer>firstSuccess());
+		assertThrows(NullPointerException.class, () -> Try.firstSuccess(() -> 1, null));
+	}
+
+	/**
+	 * Test of firstSuccess method with an executor, of class Try.
+	 */
+	@Test
+	public void testFirstSuccessRacing() throws Exception {
+		final ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			final CountDownLatch interrupted = new CountDownLatch(1);
+			final IOException miss = new IOException("miss");
+			final FirstSuccess<Integer> hit = Try.firstSuccess(executor, () -> {
+				try {
+					Thread.sleep(10_000L);
+				} catch (final InterruptedException e) {
+					interrupted.countDown();
+					throw e;
+				}
+				return 1;
+			}, () -> {
+				throw miss;
+			}, () -> {
+				Thread.sleep(50L);
+				return 2;
+			});
+			assertEquals(Either.right(2), hit.getResult());
+			assertEquals(Collections.singletonList(miss), hit.getFailures());
+			assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+			final FirstSuccess<Integer> failed = Try.firstSuccess(executor, () -> {
+				throw miss;
+			}, () -> {
+				Thread.sleep(50L);
+				throw EX;
+			});
+			assertEquals(Either.left(EX), failed.getResult());
+			assertEquals(Collections.singletonList(miss), failed.getFailures());
+
+			Thread.currentThread().interrupt();
+			final FirstSuccess<Integer> cancelled = Try.firstSuccess(executor, () -> {
+				Thread.sleep(10_000L);
+				return 1;
+			});
+			assertTrue(Thread.interrupted());
+			assertTrue(cancelled.getResult().getLeft() instanceof InterruptedException);
+			assertTrue(cancelled.getFailures().isEmpty());
+
+			final TryContext context = TryContext.create();
+			final FirstSuccess<TryContext> current = context
+					.wrap(() -> Try.firstSuccess(executor, TryContext::current)).get();
+			assertSame(context, current.getResult().getRight());
+			final AtomicInteger calls = new AtomicInteger();
+			final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+			final FirstSuccess<Integer> late = expired
+					.wrap(() -> Try.firstSuccess(executor, calls::incrementAndGet)).get();
+			assertTrue(late.getResult().getLeft() instanceof DeadlineExceededException);
+			assertTrue(late.getFailures().isEmpty());
+			assertEquals(0, calls.get());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThrows(IllegalArgumentException.class, () -> Try.<Integer>firstSuccess(Runnable::run));
+	}
+
+	/**
+	 * Test of offload method, of class Try.
+	 */
+	@Test
+	public void testOffload() throws Exception {
+		final Either<Exception, String> name = Try.offload(() -> Thread.currentThread().getName());
+		assertTrue(name.getRight().startsWith("trylambda-offload-"));
+		assertEquals(Either.left(EX), Try.offload(() -> {
+			throw EX;
+		}));
+		final TryContext expired = TryContext.withTimeout(Duration.ZERO);
+		assertTrue(expired.wrap(() -> Try.offload(() -> 1)).get().getLeft() instanceof DeadlineExceededException);
+
+		final AtomicInteger completed = new AtomicInteger();
+		Thread.currentThread().interrupt();
+		final Either<Exception, Integer> cancelled = Try.offload(() -> {
+			Thread.sleep(10_000L);
+			return completed.incrementAndGet();
+		});
+		assertTrue(Thread.interrupted());
+		assertTrue(cancelled.getLeft() instanceof InterruptedException);
+		assertEquals(0, completed.get());
+		assertThrows(NullPointerException.class, () -> Try.offload(null));
+
+		final ExecutorService bounded = Try.Offload.pool(1, 1);
+		final CountDownLatch release = new CountDownLatch(1);
+		try {
+			bounded.execute(() -> {
+				try {
+					release.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			bounded.execute(() -> {
+			});
+			assertThrows(RejectedExecutionException.class, () -> bounded.execute(() -> {
+			}));
+		} finally {
+			release.countDown();
+			bounded.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test of fail method, of class Try.
+	 */
+	@Test
+	public void testFail() {
+		final FailureSignal signal = new FailureSignal("expected");
+		final CheckedSupplier<Integer> failing = () -> Try.fail(signal);
+		assertSame(signal.either(), either(failing));
+		assertSame(signal.either(), either(() -> failing.get()));
+		assertSame(signal.either(), either(() -> {
+			throw WrappedException.wrap(signal);
+		}));
+		assertThrows(NullPointerException.class, () -> Try.fail(null));
+	}
+
+	/**
+	 * Test of parallelEither method, of class Try.
+	 */
+	@Test
+	public void testParallelEither() {
+		final List<CheckedSupplier<Integer>> suppliers = IntStream.range(0, 1000)
+				.mapToObj(i -> (CheckedSupplier<Integer>) () -> {
+					if (i % 100 == 99) {
+						throw new IOException(Integer.toString(i));
+					}
+					return i;
+				})
+				.collect(Collectors.toList());
+		final List<Either<Exception, Integer>> results = Try.parallelEither(suppliers, ForkJoinPool.commonPool());
+		assertEquals(1000, results.size());
+		for (int i = 0; i < 1000; i++) {
+			final Either<Exception, Integer> result = results.get(i);
+			if (i % 100 == 99) {
+				assertEquals(Integer.toString(i), result.getLeft().getMessage());
+			} else {
+				assertEquals(Either.right(i), result);
+			}
+		}
+		assertTrue(Try.parallelEither(Collections.<CheckedSupplier<Integer>>emptyList(), ForkJoinPool.commonPool())
+				.isEmpty());
+		assertThrows(NullPointerException.class, () -> Try.parallelEither(suppliers, null));
+	}
+
+	/**
+	 * Test of parallelEither method cancelling after a failure, of class Try.
+	 */
+	@Test
+	public void testParallelEitherCancel() {
+		final ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			final List<CheckedSupplier<Integer>> suppliers = IntStream.range(0, 100)
+					.mapToObj(i -> (CheckedSupplier<Integer>) () -> {
+						if (i == 0) {
+							throw new IOException();
+						}
+						return i;
+					})
+					.collect(Collectors.toList());
+			final List<Either<Exception, Integer>> results = Try.parallelEither(suppliers, pool, true);
+			assertTrue(results.get(0).getLeft() instanceof IOException);
+			assertTrue(results.stream().skip(1).allMatch(r -> r.getLeft() instanceof CancellationException));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test of withResource method, of class Try.
+	 */
+	@Test
+	public void testWithResource() {
+		assertEquals(Integer.valueOf(1), Try.withResource(out, os1 -> Try.withResource(out, os2 -> doIt(os1, os2))));
+		assertEquals(Integer.valueOf(1), Try.withResource(nil, os -> doIt(os, null)));
+		assertSame(EX, assertThrows(WrappedException.class, () -> Try.withResource(thr, os -> 1)).getCause());
+		assertSame(EX, assertThrows(WrappedException.class, () -> Try.withResource(clo, os -> 1)).getCause());
+		assertSame(EX, assertThrows(WrappedException.class, () -> Try.withResource(out, os -> doEx(os, os)))
+				.getCause());
+	}
+
+	/**
+	 * Test of withResourceEither method, of class Try.
+	 */
+	@Test
+	public void testWithResourceEither() {
+		final FailureSignal signal = new FailureSignal("signal");
+		assertEquals(Either.right(1), Try.withResourceEither(out,
+				os1 -> Try.withResource(out, os2 -> doIt(os1, os2))));
+		assertEquals(Either.left(EX), Try.withResourceEither(thr, os -> 1));
+		assertEquals(Either.left(EX), Try.withResourceEither(clo, os -> 1));
+		assertEquals(Either.left(EX), Try.withResourceEither(out, os1 -> Try.withResource(out, os2 -> doEx(os1, os2))));
+		assertSame(signal.either(), Try.withResourceEither(out, os -> Try.fail(signal)));
+	}
+
+	private static class Resource implements AutoCloseable {
+
+		private final AtomicInteger closed = new AtomicInteger();
+		private final Exception exception;
+
+		Resource(final Exception exception) {
+			this.exception = exception;
+		}
+
+		@Override
+		public void close() throws Exception {
+			closed.incrementAndGet();
+			if (exception != null) {
+				throw exception;
+			}
+		}
+	}
+
+	/**
+	 * Test of trysAsync method, of class Try.
+	 */
+	@Test
+	public void testTrysAsync() {
+		final Resource resource = new Resource(null);
+		final CompletableFuture<Integer> body = new CompletableFuture<>();
+		final CompletableFuture<Either<Exception, Integer>> result = Try.trysAsync(() -> resource, r -> body)
+				.toCompletableFuture();
+		assertEquals(0, resource.closed.get());
+		assertFalse(result.isDone());
+		body.complete(1);
+		assertEquals(Either.right(1), result.join());
+		assertEquals(1, resource.closed.get());
+
+		final Resource failed = new Resource(null);
+		assertEquals(Either.left(EX), Try.trysAsync(() -> failed,
+				r -> CompletableFuture.supplyAsync(() -> doEx(null, null))).toCompletableFuture().join());
+		assertEquals(1, failed.closed.get());
+
+		final Resource thrown = new Resource(null);
+		assertEquals(Either.left(EX), Try.trysAsync(() -> thrown, r -> {
+			throw EX;
+		}).toCompletableFuture().join());
+		assertEquals(1, thrown.closed.get());
+
+		assertEquals(Either.left(EX), Try.trysAsync(thr, r -> CompletableFuture.completedFuture(1))
+				.toCompletableFuture().join());
+		assertEquals(Either.right(1), Try.trysAsync(nil, r -> CompletableFuture.completedFuture(1))
+				.toCompletableFuture().join());
+		assertTrue(Try.trysAsync(out, r -> CompletableFuture.<Integer>completedFuture(null))
+				.toCompletableFuture().join().getLeft() instanceof IllegalArgumentException);
+
+		final Resource nullStage = new Resource(null);
+		assertTrue(Try.trysAsync(() -> nullStage, r -> (CompletionStage<Integer>) null).toCompletableFuture().join()
+				.getLeft() instanceof NullPointerException);
+		assertEquals(1, nullStage.closed.get());
+	}
+
+	/**
+	 * Test of trysAsync method completing outside of its context, of class Try.
+	 */
+	@Test
+	public void testTrysAsyncContext() {
+		final TryContext context = TryContext.create();
+		final CompletableFuture<Integer> body = new CompletableFuture<>();
+		final CompletableFuture<Either<Exception, Integer>> result = context
+				.wrap(() -> Try.trysAsync(() -> new Resource(null), r -> body)).get().toCompletableFuture();
+		context.wrap(() -> {
+			context.cancel();
+			body.complete(1);
+		}).run();
+		assertEquals(Either.right(1), result.join());
+	}
+
+	/**
+	 * Test of trysAsync method when the resource fails to close, of class Try.
+	 */
+	@Test
+	public void testTrysAsyncClose() {
+		final IOException closeEx = new IOException();
+		assertEquals(Either.left(closeEx), Try.trysAsync(() -> new Resource(closeEx),
+				r -> CompletableFuture.completedFuture(1)).toCompletableFuture().join());
+
+		final IOException bodyEx = new IOException();
+		final CompletableFuture<Integer> body = new CompletableFuture<>();
+		body.completeExceptionally(bodyEx);
+		assertEquals(Either.left(bodyEx), Try.trysAsync(() -> new Resource(closeEx), r -> body)
+				.toCompletableFuture().join());
+		assertSame(closeEx, bodyEx.getSuppressed()[0]);
+
+		final IOException sameEx = new IOException();
+		final CompletableFuture<Integer> same = new CompletableFuture<>();
+		same.completeExceptionally(sameEx);
+		assertEquals(Either.left(sameEx), Try.trysAsync(() -> new Resource(sameEx), r -> same)
+				.toCompletableFuture().join());
+		assertEquals(0, sameEx.getSuppressed().length);
+
+		final CompletableFuture<Integer> error = new CompletableFuture<>();
+		error.completeExceptionally(new AssertionError());
+		assertTrue(Try.trysAsync(out, r -> error).toCompletableFuture().join()
+				.getLeft() instanceof ExecutionException);
+	}
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2018 Ramsey Gurley
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.nullterminated.trylambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Ramsey Gurley
+ */
+@Tag("stress")
+public class WrappedExceptionStressTest {
+
+	public WrappedExceptionStressTest() {
+	}
+
+	/**
+	 * Test of wrap method from many threads at once, of class WrappedException.
+	 */
+	@Test
+	public void testWrap() throws Exception {
+		final IOException cause = new IOException("shared");
+		final FailureSignal signal = new FailureSignal("shared");
+		final WrappedException wrapped = WrappedException.wrap(signal);
+		Stress.run(Stress.THREADS, thread -> {
+			for (int i = 0; i < Stress.ITERATIONS / Stress.THREADS; i++) {
+				final WrappedException e = WrappedException.wrap(cause);
+				assertSame(cause, e.getCause());
+				assertSame(e, WrappedException.wrap(e));
+				assertSame(wrapped, WrappedException.wrap(signal));
+				assertSame(cause, Try.either(() -> {
+					throw e;
+				}).getLeft());
+			}
+		});
+	}
+
+	/**
+	 * Test of stack trace sampling from many threads at once, of class
+	 * WrappedException.
+	 */
+	@Test
+	public void testSampling() throws Exception {
+		final StackTracePolicy previous = StackTracePolicy.get();
+		final StackTracePolicy policy = StackTracePolicy.sampled(0, 10, Duration.ofHours(1L));
+		StackTracePolicy.set(policy);
+		final int perThread = Stress.ITERATIONS / Stress.THREADS;
+		try {
+			Stress.run(Stress.THREADS, thread -> {
+				for (int i = 0; i < perThread; i++) {
+					WrappedException.wrap(new IOException());
+				}
+			});
+		} finally {
+			StackTracePolicy.set(previous);
+		}
+		assertEquals(10L, policy.getCaptured());
+		assertEquals((long) perThread * Stress.THREADS - 10L, policy.getSkipped());
+	}
+}
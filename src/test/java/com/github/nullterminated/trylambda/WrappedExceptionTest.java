@@ -17,7 +17,10 @@
 package com.github.nullterminated.trylambda;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -57,7 +60,51 @@ public class WrappedExceptionTest {
 		final WrappedException wrap2 = WrappedException.wrap(wrap1);
 		assertEquals(e, wrap1.getCause());
 		assertEquals(e, wrap2.getCause());
+		assertSame(wrap1, wrap2);
 		assertThrows(NullPointerException.class, () -> WrappedException.wrap(null));
 	}
 
+
+	/**
+	 * Test of wrap method with failure signals, of class WrappedException.
+	 */
+	@Test
+	public void testWrap_FailureSignal() {
+		final FailureSignal signal = new FailureSignal("signal");
+		final WrappedException wrap1 = WrappedException.wrap(signal);
+		final WrappedException wrap2 = WrappedException.wrap("message", signal);
+		assertSame(wrap1, WrappedException.wrap(signal));
+		assertEquals(signal, WrappedException.wrap(wrap1).getCause());
+		assertEquals(signal, wrap1.getCause());
+		assertEquals(signal, wrap2.getCause());
+		assertEquals("message", wrap2.getMessage());
+		assertEquals(0, wrap1.getStackTrace().length);
+		assertEquals(0, wrap2.getStackTrace().length);
+		wrap1.addSuppressed(new Exception());
+		assertEquals(0, wrap1.getSuppressed().length);
+	}
+
+	/**
+	 * Test of isStackTraceCaptured method, of class WrappedException.
+	 */
+	@Test
+	public void testIsStackTraceCaptured() {
+		final Exception e = new Exception();
+		final WrappedException captured = WrappedException.wrap(e);
+		assertTrue(captured.isStackTraceCaptured());
+		assertTrue(captured.getStackTrace().length > 0);
+		assertEquals(WrappedException.class.getName() + ": " + e, captured.toString());
+
+		final StackTracePolicy original = StackTracePolicy.get();
+		StackTracePolicy.set(StackTracePolicy.never());
+		try {
+			final WrappedException skipped = WrappedException.wrap("message", e);
+			assertFalse(skipped.isStackTraceCaptured());
+			assertEquals(0, skipped.getStackTrace().length);
+			assertTrue(skipped.toString().endsWith("[stack trace not captured]"));
+			assertFalse(WrappedException.wrap(new FailureSignal("signal")).isStackTraceCaptured());
+		} finally {
+			StackTracePolicy.set(original);
+		}
+	}
 }